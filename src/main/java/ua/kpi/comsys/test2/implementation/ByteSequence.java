@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only {@code CharSequence} view over a range of ASCII bytes.
+ * <p>
+ * Lets the decimal parser work on a mapped file in place, without
+ * decoding it into a {@code String}.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+final class ByteSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Creates a view of {@code length} bytes starting at {@code offset}.
+     *
+     * @param buffer the bytes to view, accessed by absolute index.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     */
+    ByteSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException();
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) throw new IndexOutOfBoundsException();
+        return new ByteSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length);
+        return sb.append(this).toString();
+    }
+}
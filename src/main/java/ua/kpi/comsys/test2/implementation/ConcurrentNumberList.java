@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Thread-safe number list for many readers and few writers.
+ * <p>
+ * Only mutations take the write lock of a {@link StampedLock}. Each one
+ * changes a {@link NumberListImpl} and publishes an immutable
+ * {@link PersistentNumberList} snapshot of the result: {@code set},
+ * {@code add}, {@code remove} and {@code swap} derive it from the previous
+ * snapshot in O(log n), other mutations take a new one from the list.
+ * Readers only do optimistic reads of the published snapshot, or of the
+ * size of the list, and fall back to the read lock if a writer got in
+ * between, so they never block each other. They do not read the list
+ * itself, as even its positional reads move its finger.
+ * <p>
+ * {@link #iterator()} walks the snapshot, so it never blocks writers and
+ * never sees their changes; its {@code remove} is not supported.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+public final class ConcurrentNumberList extends AbstractList<Byte> implements NumberList {
+
+    private final StampedLock lock = new StampedLock();
+    private final NumberListImpl list;
+
+    /** Snapshot of {@link #list}, replaced by every write. Guarded by {@link #lock}. */
+    private PersistentNumberList view;
+
+    /**
+     * Creates an empty octal list.
+     */
+    public ConcurrentNumberList() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty list in the given radix.
+     *
+     * @param radix the radix of the digits, from 2 to 36.
+     * @throws IllegalArgumentException if the radix is not supported.
+     */
+    public ConcurrentNumberList(int radix) {
+        list = new NumberListImpl(radix);
+        view = list.snapshot();
+    }
+
+    /**
+     * Creates a list holding a copy of the digits of another list.
+     *
+     * @param digits the list to copy, in its own radix.
+     */
+    public ConcurrentNumberList(NumberListImpl digits) {
+        list = new NumberListImpl(digits.getRadix());
+        list.addAll(digits);
+        view = list.snapshot();
+    }
+
+    /**
+     * Returns the radix of the digits.
+     *
+     * @return the radix.
+     */
+    public int getRadix() {
+        return list.getRadix();
+    }
+
+    /**
+     * Returns an immutable snapshot of the digits.
+     *
+     * @return the snapshot, shared by readers until the next write.
+     */
+    public PersistentNumberList snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        PersistentNumberList snapshot = view;
+        if (lock.validate(stamp)) return snapshot;
+
+        stamp = lock.readLock();
+        try {
+            return view;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the decimal representation of the number.
+     * <p>
+     * The conversion runs on the current snapshot, which keeps the result.
+     *
+     * @return the decimal digits without leading zeros, {@code "0"} for zero.
+     */
+    public String toDecimalString() {
+        return snapshot().toDecimalString();
+    }
+
+    // --- Reads ---
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = list.size();
+        if (lock.validate(stamp)) return size;
+
+        stamp = lock.readLock();
+        try {
+            return list.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Byte get(int index) {
+        return snapshot().get(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return snapshot().contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return snapshot().indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return snapshot().lastIndexOf(o);
+    }
+
+    @Override
+    public Iterator<Byte> iterator() {
+        Iterator<Byte> digits = snapshot().iterator();
+        return new Iterator<Byte>() {
+            @Override
+            public boolean hasNext() {
+                return digits.hasNext();
+            }
+
+            @Override
+            public Byte next() {
+                return digits.next();
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return snapshot().toArray(a);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        // The snapshot checks the radix of other number lists
+        return this == o || snapshot().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+
+    // --- Writes ---
+
+    @Override
+    public boolean add(Byte e) {
+        return write(() -> {
+            list.add(e);
+            view = view.withInserted(view.size(), e);
+            return true;
+        });
+    }
+
+    @Override
+    public void add(int index, Byte element) {
+        write(() -> {
+            list.add(index, element);
+            view = view.withInserted(index, element);
+            return null;
+        });
+    }
+
+    @Override
+    public Byte set(int index, Byte element) {
+        return write(() -> {
+            Byte old = list.set(index, element);
+            view = view.withDigit(index, element);
+            return old;
+        });
+    }
+
+    @Override
+    public Byte remove(int index) {
+        return write(() -> {
+            Byte old = list.remove(index);
+            view = view.withRemoved(index);
+            return old;
+        });
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return write(() -> {
+            int index = list.indexOf(o);
+            if (index < 0) return false;
+            list.remove(index);
+            view = view.withRemoved(index);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        return write(() -> {
+            if (!list.swap(index1, index2)) return false;
+            byte digit1 = (byte) view.getDigit(index1);
+            byte digit2 = (byte) view.getDigit(index2);
+            view = view.withDigit(index1, digit2).withDigit(index2, digit1);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        // Copy first: c may be this list, or be changed by another thread
+        List<Byte> digits = Arrays.asList(c.toArray(new Byte[0]));
+        return rewrite(() -> list.addAll(digits));
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Byte> c) {
+        List<Byte> digits = Arrays.asList(c.toArray(new Byte[0]));
+        return rewrite(() -> list.addAll(index, digits));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        List<Object> digits = Arrays.asList(c.toArray());
+        return rewrite(() -> list.removeAll(digits));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        List<Object> digits = Arrays.asList(c.toArray());
+        return rewrite(() -> list.retainAll(digits));
+    }
+
+    @Override
+    public void clear() {
+        rewrite(() -> {
+            list.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public void sortAscending() {
+        rewrite(() -> {
+            list.sortAscending();
+            return null;
+        });
+    }
+
+    @Override
+    public void sortDescending() {
+        rewrite(() -> {
+            list.sortDescending();
+            return null;
+        });
+    }
+
+    @Override
+    public void shiftLeft() {
+        rewrite(() -> {
+            list.shiftLeft();
+            return null;
+        });
+    }
+
+    @Override
+    public void shiftRight() {
+        rewrite(() -> {
+            list.shiftRight();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a mutation of {@link #list} under the write lock. The mutation
+     * applies the same change to {@link #view}; it must fail before it
+     * changes either of them.
+     */
+    private <T> T write(Supplier<T> mutation) {
+        long stamp = lock.writeLock();
+        try {
+            modCount++;
+            return mutation.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs a bulk mutation of {@link #list} under the write lock and
+     * publishes a new snapshot, even if the mutation fails half way.
+     */
+    private <T> T rewrite(Supplier<T> mutation) {
+        long stamp = lock.writeLock();
+        try {
+            modCount++;
+            return mutation.get();
+        } finally {
+            view = list.snapshot();
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Describes how digits of a single radix are packed into {@code long} words.
+ * <p>
+ * Every digit occupies {@code bits} bits, {@code perWord} digits share one
+ * word and digit {@code i} of a word lives at bit offset {@code i * bits}.
+ * Bits that do not hold a digit are always kept zero, so packed arrays can be
+ * compared and combined word by word.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+final class DigitLayout {
+
+    /** Layouts of every radix from 2 to 36, indexed by radix. */
+    private static final DigitLayout[] LAYOUTS = new DigitLayout[Character.MAX_RADIX + 1];
+
+    static {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+            LAYOUTS[radix] = new DigitLayout(radix);
+        }
+    }
+
+    /** Octal digits: 3 bits each, 21 digits per word. */
+    static final DigitLayout OCTAL = LAYOUTS[8];
+
+    final int radix;
+    final int bits;
+    final int perWord;
+    final long mask;
+    final long wordMask;
+    private final int topShift;
+
+    private DigitLayout(int radix) {
+        this.radix = radix;
+        this.bits = 32 - Integer.numberOfLeadingZeros(radix - 1);
+        this.perWord = Long.SIZE / bits;
+        this.mask = (1L << bits) - 1;
+        this.wordMask = perWord * bits == Long.SIZE ? -1L : (1L << (perWord * bits)) - 1;
+        this.topShift = (perWord - 1) * bits;
+    }
+
+    /**
+     * Returns the layout for the given radix.
+     *
+     * @param radix the radix of the digits.
+     * @return the shared layout instance.
+     */
+    static DigitLayout of(int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new IllegalArgumentException("Unsupported radix: " + radix);
+        }
+        return LAYOUTS[radix];
+    }
+
+    /**
+     * Returns {@code true} if every digit is exactly {@code bits} bits of
+     * the value, that is the radix is a power of two.
+     */
+    boolean isBinary() {
+        return Integer.bitCount(radix) == 1;
+    }
+
+    /**
+     * Returns the number of words needed to hold {@code digits} digits.
+     */
+    int wordsFor(int digits) {
+        return (digits + perWord - 1) / perWord;
+    }
+
+    int get(long[] words, int index) {
+        int w = index / perWord;
+        return (int) ((words[w] >>> ((index - w * perWord) * bits)) & mask);
+    }
+
+    void set(long[] words, int index, int digit) {
+        int w = index / perWord;
+        int shift = (index - w * perWord) * bits;
+        words[w] = (words[w] & ~(mask << shift)) | ((long) digit << shift);
+    }
+
+    /**
+     * Inserts a digit at {@code index}, moving digits {@code [index, count)}
+     * one position up. The array must have room for {@code count + 1} digits.
+     */
+    void insert(long[] words, int count, int index, int digit) {
+        int w = index / perWord;
+        int shift = (index - w * perWord) * bits;
+        int last = count / perWord;
+        long word = words[w];
+        long carry = word >>> topShift;
+        long lowMask = (1L << shift) - 1;
+        words[w] = (word & lowMask) | ((long) digit << shift) | (((word & ~lowMask) << bits) & wordMask);
+        for (int i = w + 1; i <= last; i++) {
+            word = words[i];
+            long top = word >>> topShift;
+            words[i] = ((word << bits) & wordMask) | carry;
+            carry = top;
+        }
+    }
+
+    /**
+     * Removes the digit at {@code index}, moving digits
+     * {@code (index, count)} one position down.
+     *
+     * @return the removed digit.
+     */
+    int remove(long[] words, int count, int index) {
+        int w = index / perWord;
+        int shift = (index - w * perWord) * bits;
+        int last = (count - 1) / perWord;
+        long word = words[w];
+        int removed = (int) ((word >>> shift) & mask);
+        long lowMask = (1L << shift) - 1;
+        word = (word & lowMask) | ((word >>> bits) & ~lowMask);
+        for (int i = w; i < last; i++) {
+            long next = words[i + 1];
+            words[i] = word | ((next & mask) << topShift);
+            word = next >>> bits;
+        }
+        words[last] = word;
+        return removed;
+    }
+
+    /**
+     * Copies {@code length} digits between two different arrays.
+     */
+    void copy(long[] src, int srcPos, long[] dst, int dstPos, int length) {
+        if (srcPos % perWord == 0 && dstPos % perWord == 0) {
+            int full = length / perWord;
+            System.arraycopy(src, srcPos / perWord, dst, dstPos / perWord, full);
+            srcPos += full * perWord;
+            dstPos += full * perWord;
+            length -= full * perWord;
+        }
+        for (int i = 0; i < length; i++) {
+            set(dst, dstPos + i, get(src, srcPos + i));
+        }
+    }
+
+    /**
+     * ORs {@code length} digits of {@code src} into {@code dst}, up to a
+     * whole word of digits at a time. The arrays must be different.
+     */
+    void or(long[] src, int srcPos, long[] dst, int dstPos, int length) {
+        while (length > 0) {
+            int w = dstPos / perWord;
+            int offset = dstPos - w * perWord;
+            int n = Math.min(perWord - offset, length);
+            dst[w] |= read(src, srcPos, n) << (offset * bits);
+            srcPos += n;
+            dstPos += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Returns {@code n <= perWord} digits starting at {@code index}, packed
+     * from bit 0. The digits may span two words.
+     */
+    long read(long[] words, int index, int n) {
+        int w = index / perWord;
+        int offset = index - w * perWord;
+        long value = words[w] >>> (offset * bits);
+        if (offset + n > perWord) {
+            value |= words[w + 1] << ((perWord - offset) * bits);
+        }
+        return n == perWord ? value & wordMask : value & ((1L << (n * bits)) - 1);
+    }
+
+    /**
+     * Zeroes digits {@code [from, to)}.
+     */
+    void clear(long[] words, int from, int to) {
+        fill(words, from, to, 0);
+    }
+
+    /**
+     * Sets digits {@code [from, to)} to the same digit, a whole word at a
+     * time where possible.
+     */
+    void fill(long[] words, int from, int to, int digit) {
+        while (from < to && from % perWord != 0) {
+            set(words, from++, digit);
+        }
+        int full = (to - from) / perWord;
+        long pattern = 0;
+        for (int i = 0; i < perWord; i++) {
+            pattern = (pattern << bits) | digit;
+        }
+        Arrays.fill(words, from / perWord, from / perWord + full, pattern);
+        from += full * perWord;
+        while (from < to) {
+            set(words, from++, digit);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Arithmetic and bitwise operations over number lists.
+ * <p>
+ * Every operation returns a new octal {@link NumberListImpl} without
+ * leading zeros and leaves its operands unchanged. Each operand is
+ * converted to a {@code BigInteger}, the arithmetic is delegated to
+ * {@code BigInteger}, and the result is copied back into packed nodes.
+ * Digits of a power-of-two radix are already a bit string, so those
+ * conversions take linear time; other radices go through
+ * {@link RadixConversion}. A {@code NumberListImpl}, a snapshot of one or
+ * a {@link ConcurrentNumberList} is read in its own radix, other lists as
+ * octal digits; an empty list counts as zero.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+public final class NumberArithmetic {
+
+    private NumberArithmetic() {
+    }
+
+    /**
+     * Returns {@code a + b}.
+     */
+    public static NumberListImpl add(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).add(value(b)));
+    }
+
+    /**
+     * Returns {@code a - b}.
+     *
+     * @throws ArithmeticException if {@code b > a}, as lists hold only
+     *         non-negative numbers.
+     */
+    public static NumberListImpl subtract(NumberList a, NumberList b) {
+        BigInteger difference = value(a).subtract(value(b));
+        if (difference.signum() < 0) {
+            throw new ArithmeticException("Negative result");
+        }
+        return NumberListImpl.valueOf(difference);
+    }
+
+    /**
+     * Returns {@code a * b}.
+     */
+    public static NumberListImpl multiply(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).multiply(value(b)));
+    }
+
+    /**
+     * Returns the integer part of {@code a / b}.
+     *
+     * @throws ArithmeticException if {@code b} is zero.
+     */
+    public static NumberListImpl divide(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).divide(value(b)));
+    }
+
+    /**
+     * Returns the remainder of {@code a / b}.
+     *
+     * @throws ArithmeticException if {@code b} is zero.
+     */
+    public static NumberListImpl mod(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).mod(value(b)));
+    }
+
+    /**
+     * Returns {@code a & b}.
+     */
+    public static NumberListImpl and(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).and(value(b)));
+    }
+
+    /**
+     * Returns {@code a | b}.
+     */
+    public static NumberListImpl or(NumberList a, NumberList b) {
+        return NumberListImpl.valueOf(value(a).or(value(b)));
+    }
+
+    private static BigInteger value(NumberList list) {
+        return NumberListImpl.valueOf(list);
+    }
+}
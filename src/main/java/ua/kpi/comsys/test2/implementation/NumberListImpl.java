@@ -7,17 +7,29 @@
 package ua.kpi.comsys.test2.implementation;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
-import java.util.ArrayList;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
-import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import ua.kpi.comsys.test2.NumberList;
 
@@ -30,34 +42,126 @@ import ua.kpi.comsys.test2.NumberList;
  * <li><b>C5 = 2</b>: Octal system (Base-8, digits 0-7)</li>
  * <li><b>C7 = 6</b>: Bitwise OR operation</li>
  * </ul>
+ * <p>
+ * Every node of the ring holds a segment of up to {@link #NODE_WORDS} words
+ * of bit-packed digits (see {@link DigitLayout}), so an octal digit costs
+ * about 3 bits of heap instead of a whole node. Lists are octal by default,
+ * but any radix from 2 to 36 can be used (see {@link #NumberListImpl(int)}).
  *
  * @author Alexander Podrubailo (Student ID: 3317)
- * @version 1.1
+ * @version 1.2
  */
-public class NumberListImpl implements NumberList {
+public class NumberListImpl implements NumberList, Comparable<NumberListImpl> {
+
+    /** Number of {@code long} words in a single node. */
+    static final int NODE_WORDS = 32;
+
+    /** Smallest result, in digits, for which OR runs in parallel. */
+    static final int PARALLEL_DIGITS = 1 << 20;
+
+    /** Number of result nodes below which a parallel OR task is not split. */
+    private static final int PARALLEL_NODES = 64;
 
     /**
      * Inner class representing a node in the doubly linked list.
+     * <p>
+     * A node stores {@code count} packed digits; nodes are never empty.
+     * Its words may be shared with snapshots, so they are written only
+     * through {@link #own()}.
      */
     private static class Node {
-        Byte value;
+        long[] words = new long[NODE_WORDS];
+        int count;
+        boolean shared;
         Node next;
         Node prev;
 
-        Node(Byte value) {
-            this.value = value;
+        /**
+         * Returns the words for writing, copying them first if a snapshot
+         * shares them.
+         */
+        long[] own() {
+            if (shared) {
+                words = words.clone();
+                shared = false;
+            }
+            return words;
         }
     }
 
+    private final DigitLayout layout;
+    private final int capacity;
     private Node head;
     private int size;
 
+    /**
+     * The node found by the last positional lookup, or {@code null}.
+     * Sequential and nearby accesses start walking from it.
+     */
+    private Node finger;
+
+    /** Index of the first digit of {@link #finger}. */
+    private int fingerStart;
+
+    /** Number of structural modifications, checked by iterators and views. */
+    private int modCount;
+
+    /** Number of modifications of any kind, including changed digits. */
+    private int version;
+
+    /** Number of occurrences of every digit value. */
+    private final int[] counts;
+
+    /** Cached {@link #hashCode()}, valid while {@link #hashVersion} is current. */
+    private int hash;
+    private int hashVersion = -1;
+
+    /** Cached {@link #toDecimalString()}, valid while {@link #decimalVersion} is current. */
+    private String decimal;
+    private int decimalVersion = -1;
+
+    /**
+     * First and last position of each digit, valid while the version
+     * stored next to it in {@link #firstVersion} or {@link #lastVersion}
+     * is current.
+     */
+    private int[] firstIndex;
+    private int[] firstVersion;
+    private int[] lastIndex;
+    private int[] lastVersion;
+
+    /** Last {@link #snapshot()}, valid while {@link #snapshotVersion} is current. */
+    private PersistentNumberList snapshot;
+    private int snapshotVersion = -1;
+
     /**
      * Default constructor.
      * <p>
      * Creates an empty {@code NumberListImpl}.
      */
     public NumberListImpl() {
+        this(DigitLayout.OCTAL);
+    }
+
+    /**
+     * Creates an empty list which stores digits of the given radix.
+     *
+     * @param radix the radix of the digits, from 2 to 36.
+     * @throws IllegalArgumentException if the radix is not supported.
+     */
+    public NumberListImpl(int radix) {
+        this(DigitLayout.of(radix));
+    }
+
+    /**
+     * Creates an empty list which stores digits of the given layout.
+     *
+     * @param layout the packing layout of the digits.
+     */
+    private NumberListImpl(DigitLayout layout) {
+        this.layout = layout;
+        this.capacity = NODE_WORDS * layout.perWord;
+        this.counts = new int[layout.radix];
         this.head = null;
         this.size = 0;
     }
@@ -65,17 +169,17 @@ public class NumberListImpl implements NumberList {
     /**
      * Constructs a new {@code NumberListImpl} using a <b>decimal</b> number
      * read from a file.
+     * <p>
+     * The list stays empty when the file cannot be read or does not hold
+     * a valid number; use {@link #load(File)} to get the error instead.
      *
      * @param file the file containing the number string.
      */
     public NumberListImpl(File file) {
         this();
-        try (Scanner scanner = new Scanner(file)) {
-            if (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                initFromDecimalString(line);
-            }
-        } catch (FileNotFoundException e) {
+        try {
+            readDecimal(file);
+        } catch (IOException | NumberFormatException e) {
             // Ignored as per test expectations for non-existent files
         }
     }
@@ -91,39 +195,145 @@ public class NumberListImpl implements NumberList {
         initFromDecimalString(value);
     }
 
+    /**
+     * Loads a <b>decimal</b> number from the first line of a file.
+     * <p>
+     * The file is memory-mapped and its digit bytes are parsed in place,
+     * so no {@code String} copy of the line is made. An empty file gives
+     * an empty list.
+     *
+     * @param file the file containing the number string.
+     * @return a new list holding the number.
+     * @throws IOException if the file cannot be read.
+     * @throws NumberFormatException if the first line is not a non-negative
+     *         decimal number.
+     */
+    public static NumberListImpl load(File file) throws IOException {
+        NumberListImpl list = new NumberListImpl();
+        list.readDecimal(file);
+        return list;
+    }
+
+    /**
+     * Maps the file and parses its first line.
+     *
+     * @param file the file containing the number string.
+     */
+    private void readDecimal(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int length = (int) Math.min(fileSize, Integer.MAX_VALUE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+            int end = 0;
+            while (end < length && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+                end++;
+            }
+            if (end == length && fileSize > length) {
+                throw new NumberFormatException("Number is too long: " + file);
+            }
+            parseDecimal(new ByteSequence(buffer, 0, end));
+        }
+    }
+
     /**
      * Helper method to initialize the list from a decimal string.
      * Converts the Decimal String to an Octal List representation.
-     * <p>
-     * Uses BigInteger to handle arbitrarily large numbers.
      *
      * @param value the decimal number string.
      */
     private void initFromDecimalString(String value) {
-        if (value == null || value.trim().isEmpty()) return;
-        
+        if (value == null) return;
+
         try {
-            // FIX: Use BigInteger for huge numbers (tests use numbers larger than Long.MAX_VALUE)
-            BigInteger bigInt = new BigInteger(value.trim());
-            
-            // Requirement usually implies positive numbers for this structure
-            if (bigInt.compareTo(BigInteger.ZERO) < 0) {
-                return; 
-            }
+            parseDecimal(value);
+        } catch (NumberFormatException e) {
+            // Invalid format (e.g. letters), list remains empty as expected by tests
+        }
+    }
 
-            if (bigInt.equals(BigInteger.ZERO)) {
-                add((byte) 0);
-                return;
+    /**
+     * Parses a decimal number into the empty list.
+     * <p>
+     * The text is validated in place and parsed by {@link RadixConversion}
+     * in 18-digit chunks, then the bits of the value are written straight
+     * into the packed nodes, without an intermediate octal string. Blank
+     * text leaves the list empty.
+     *
+     * @param value the decimal number text.
+     * @throws NumberFormatException if the text is not a non-negative
+     *         decimal number; the list is left unchanged.
+     */
+    private void parseDecimal(CharSequence value) {
+        // Same whitespace as String.trim()
+        int from = 0;
+        int to = value.length();
+        while (from < to && value.charAt(from) <= ' ') from++;
+        while (to > from && value.charAt(to - 1) <= ' ') to--;
+        if (from == to) return;
+
+        boolean negative = value.charAt(from) == '-';
+        if (negative || value.charAt(from) == '+') {
+            from++;
+        }
+        if (from == to) {
+            throw new NumberFormatException("Missing digits after sign");
+        }
+
+        boolean zero = true;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid decimal digit '" + value.charAt(i) + "' at index " + i);
             }
-            
-            // Convert BigInteger to octal string (base 8)
-            String octalString = bigInt.toString(8);
-            for (char c : octalString.toCharArray()) {
-                byte digit = (byte) Character.getNumericValue(c);
-                add(digit);
+            zero &= digit == 0;
+        }
+
+        if (zero) {
+            unsafeAdd(0);
+            return;
+        }
+        // Requirement usually implies positive numbers for this structure
+        if (negative) {
+            throw new NumberFormatException("Negative numbers are not supported");
+        }
+        appendValue(RadixConversion.parse(value, from, to, 10));
+    }
+
+    /**
+     * Appends the digits of a non-negative value to an empty list.
+     * <p>
+     * Digits of a power-of-two radix are taken directly from the bits of
+     * the value; other radices go through {@link RadixConversion}.
+     *
+     * @param value the value to store.
+     */
+    private void appendValue(BigInteger value) {
+        if (!layout.isBinary()) {
+            appendDigits(RadixConversion.toString(value, layout.radix, ForkJoinPool.commonPool()));
+            return;
+        }
+        byte[] magnitude = value.toByteArray();
+        int bits = layout.bits;
+        for (int pos = (value.bitLength() - 1) / bits * bits; pos >= 0; pos -= bits) {
+            int index = magnitude.length - 1 - (pos >>> 3);
+            int shift = pos & 7;
+            int digit = (magnitude[index] & 0xFF) >>> shift;
+            if (shift + bits > 8 && index > 0) {
+                digit |= (magnitude[index - 1] & 0xFF) << (8 - shift);
             }
-        } catch (NumberFormatException e) {
-            // Invalid format (e.g. letters), list remains empty as expected by tests
+            unsafeAdd(digit & (int) layout.mask);
+        }
+    }
+
+    /**
+     * Appends valid digit characters of the list's radix.
+     *
+     * @param digits the digits to append.
+     */
+    private void appendDigits(CharSequence digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            unsafeAdd(Character.digit(digits.charAt(i), layout.radix));
         }
     }
 
@@ -134,203 +344,1407 @@ public class NumberListImpl implements NumberList {
      * @param file the file where the number has to be stored.
      */
     public void saveList(File file) {
-        try (PrintWriter writer = new PrintWriter(file)) {
-            writer.print(toDecimalString());
-        } catch (FileNotFoundException e) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            saveList(channel);
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Returns the student's record book number used to determine the variant.
-     *
-     * @return the student's record book number (3317).
+     * Writes the number stored in the list into a stream in <b>decimal</b>
+     * notation, as ASCII digits. The stream is not closed.
+     *
+     * @param out the stream where the number has to be written.
+     * @throws IOException if the stream fails.
+     */
+    public void saveList(OutputStream out) throws IOException {
+        saveList(Channels.newChannel(out));
+    }
+
+    /**
+     * Writes the number stored in the list into a channel in <b>decimal</b>
+     * notation, as ASCII digits. The channel is not closed.
+     * <p>
+     * Digits are streamed through a fixed-size buffer, so no string of the
+     * whole number is built. If the list has not changed since the last
+     * {@link #toDecimalString()}, its cached digits are written instead.
+     *
+     * @param channel the channel where the number has to be written.
+     * @throws IOException if the channel fails.
+     */
+    public void saveList(WritableByteChannel channel) throws IOException {
+        if (decimalVersion == version) {
+            RadixConversion.write(decimal, channel);
+        } else {
+            RadixConversion.write(toBigInteger(), 10, channel);
+        }
+    }
+
+    /**
+     * Returns the student's record book number used to determine the variant.
+     *
+     * @return the student's record book number (3317).
+     */
+    public static int getRecordBookNumber() {
+        return 3317;
+    }
+
+    /**
+     * Returns a new {@code NumberListImpl} which represents the same number
+     * in the Decimal scale of notation.
+     * <p>
+     * Calculated as: (C5 + 1) % 5 = 3 (Decimal).
+     *
+     * @return a new {@code NumberListImpl} containing decimal digits.
+     */
+    public NumberListImpl changeScale() {
+        return changeScale(10);
+    }
+
+    /**
+     * Returns a new {@code NumberListImpl} which represents the same number
+     * in the given scale of notation, without leading zeros.
+     * <p>
+     * Between two power-of-two radices the digits are only regrouped bit
+     * by bit, in one linear pass. Decimal digits are taken from
+     * {@link #toDecimalString()}, which is cached until the list changes.
+     * Other radices go through the divide-and-conquer conversion of
+     * {@link RadixConversion}.
+     *
+     * @param targetRadix the radix of the result, from 2 to 36.
+     * @return a new {@code NumberListImpl} containing digits of the radix.
+     * @throws IllegalArgumentException if the radix is not supported.
+     */
+    public NumberListImpl changeScale(int targetRadix) {
+        NumberListImpl result = new NumberListImpl(targetRadix);
+        if (layout.isBinary() && result.layout.isBinary()) {
+            regroup(result);
+        } else if (targetRadix == 10) {
+            result.appendDigits(toDecimalString());
+        } else {
+            result.appendValue(toBigInteger());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the radix of the digits stored in the list.
+     *
+     * @return the radix, from 2 to 36.
+     */
+    public int getRadix() {
+        return layout.radix;
+    }
+
+    /**
+     * Writes the bits of the digits into an empty list of another
+     * power-of-two radix, most significant digit first.
+     * <p>
+     * The first target digit takes the bits left over from whole target
+     * digits, so the bit string is regrouped from its least significant
+     * end, and leading zero digits are skipped.
+     *
+     * @param target the empty list to fill.
+     */
+    private void regroup(NumberListImpl target) {
+        int bits = target.layout.bits;
+        long totalBits = (long) size * layout.bits;
+        int need = (int) (totalBits % bits == 0 ? bits : totalBits % bits);
+        long buffer = 0;
+        int buffered = 0;
+
+        if (head != null) {
+            Node current = head;
+            do {
+                for (int i = 0; i < current.count; i++) {
+                    buffer = (buffer << layout.bits) | layout.get(current.words, i);
+                    buffered += layout.bits;
+                    while (buffered >= need) {
+                        buffered -= need;
+                        int digit = (int) (buffer >>> buffered) & ((1 << need) - 1);
+                        if (digit != 0 || target.size > 0) {
+                            target.unsafeAdd(digit);
+                        }
+                        need = bits;
+                    }
+                }
+                current = current.next;
+            } while (current != head);
+        }
+        if (target.size == 0) {
+            target.unsafeAdd(0);
+        }
+    }
+
+    /**
+     * Performs the Bitwise OR operation (C7 = 6).
+     * <p>
+     * Operands are aligned by their least significant digits, so the
+     * shorter one is padded with leading zeros. Packed octal operands are
+     * ORed a whole word of digits at a time straight into the nodes of the
+     * result; other lists are read digit by digit. Neither operand is
+     * changed. Results of at least {@link #PARALLEL_DIGITS} digits are
+     * computed on the common {@code ForkJoinPool}.
+     *
+     * @param arg the second operand of the operation.
+     * @return a new {@code NumberListImpl} representing the result of the OR operation.
+     * @throws IllegalArgumentException if {@code arg} holds a digit that is
+     *         not octal.
+     */
+    public NumberListImpl additionalOperation(NumberList arg) {
+        return additionalOperation(arg, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs the Bitwise OR operation (C7 = 6), running it in the given
+     * pool when the result is large.
+     * <p>
+     * The result nodes are split into ranges, and every task ORs the
+     * matching digits of both operands into its own range. Operands that
+     * are not packed lists of the same radix, and results shorter than
+     * {@link #PARALLEL_DIGITS} digits, are handled serially.
+     * <p>
+     * The result has the radix of this list. Digits of a radix which is
+     * not a power of two, or of two different radices, do not line up
+     * with the bits of the numbers, so such operands are ORed by value.
+     *
+     * @param arg  the second operand of the operation.
+     * @param pool the pool which runs the parallel tasks.
+     * @return a new {@code NumberListImpl} representing the result of the OR operation.
+     * @throws IllegalArgumentException if {@code arg} is not a
+     *         {@code NumberListImpl}, a snapshot or a concurrent list, and
+     *         holds a digit that is not valid for the radix of this list.
+     */
+    public NumberListImpl additionalOperation(NumberList arg, ForkJoinPool pool) {
+        NumberListImpl packed = packed(arg);
+        if (packed != null) arg = packed;
+        NumberListImpl result = new NumberListImpl(layout);
+        int length = Math.max(this.size, arg.size());
+        if (length == 0) return result;
+
+        if (!layout.isBinary() || arg instanceof NumberListImpl && ((NumberListImpl) arg).layout != layout) {
+            result.appendValue(toBigInteger().or(valueOf(arg, layout)));
+            return result;
+        }
+        result.appendZeros(length);
+        if (length >= PARALLEL_DIGITS && arg instanceof NumberListImpl
+                && ((NumberListImpl) arg).layout == layout) {
+            Node[] nodes = new Operand(result, 0).nodes;
+            pool.invoke(result.new OrTask(nodes, 0, nodes.length,
+                    new Operand(this, length - this.size),
+                    new Operand((NumberListImpl) arg, length - arg.size())));
+        } else {
+            result.orDigits(this, length - this.size);
+            result.orDigits(arg, length - arg.size());
+        }
+        result.recount();
+        return result;
+    }
+
+    /**
+     * Appends {@code count} zero digits, filling every new node.
+     *
+     * @param count the number of digits to append.
+     */
+    private void appendZeros(int count) {
+        while (count > 0) {
+            if (head == null || head.prev.count == capacity) {
+                unsafeAdd(0);
+                count--;
+            }
+            Node tail = head.prev;
+            int n = Math.min(capacity - tail.count, count);
+            tail.count += n;
+            size += n;
+            counts[0] += n;
+            count -= n;
+            modCount++;
+            version++;
+        }
+    }
+
+    /**
+     * Counts the digits again after they were changed in bulk.
+     */
+    void recount() {
+        Arrays.fill(counts, 0);
+        forEachDigit(digit -> counts[digit]++);
+        version++;
+    }
+
+    /**
+     * ORs the digits of a list into this list, starting at {@code index}.
+     * The digit counts have to be rebuilt afterwards.
+     *
+     * @param src   the list to take the digits from.
+     * @param index the position of the first digit of {@code src}.
+     */
+    private void orDigits(NumberList src, int index) {
+        if (src.isEmpty()) return;
+        Node dst = head;
+        while (index >= dst.count) {
+            index -= dst.count;
+            dst = dst.next;
+        }
+
+        if (src instanceof NumberListImpl && ((NumberListImpl) src).layout == layout) {
+            orRun(((NumberListImpl) src).head, 0, dst, index, src.size());
+        } else {
+            for (Byte e : src) {
+                if (index == dst.count) {
+                    dst = dst.next;
+                    index = 0;
+                }
+                layout.set(dst.words, index, layout.get(dst.words, index) | checkDigit(e));
+                index++;
+            }
+        }
+    }
+
+    /**
+     * ORs {@code length} packed digits, starting at the given offsets of
+     * two nodes and following their rings, into the destination.
+     */
+    private void orRun(Node src, int srcOffset, Node dst, int dstOffset, int length) {
+        while (length > 0) {
+            if (srcOffset == src.count) {
+                src = src.next;
+                srcOffset = 0;
+            }
+            if (dstOffset == dst.count) {
+                dst = dst.next;
+                dstOffset = 0;
+            }
+            int n = Math.min(length, Math.min(src.count - srcOffset, dst.count - dstOffset));
+            layout.or(src.words, srcOffset, dst.words, dstOffset, n);
+            srcOffset += n;
+            dstOffset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Nodes of an OR operand with the indices of their first digits.
+     */
+    private static final class Operand {
+        final Node[] nodes;
+        final int[] starts;
+        /** Position of the first digit of the operand in the result. */
+        final int shift;
+
+        Operand(NumberListImpl list, int shift) {
+            this.nodes = new Node[list.head == null ? 0 : countNodes(list.head)];
+            this.starts = new int[nodes.length];
+            this.shift = shift;
+            Node current = list.head;
+            for (int k = 0, start = 0; k < nodes.length; k++) {
+                nodes[k] = current;
+                starts[k] = start;
+                start += current.count;
+                current = current.next;
+            }
+        }
+
+        private static int countNodes(Node head) {
+            int n = 0;
+            Node current = head;
+            do {
+                n++;
+                current = current.next;
+            } while (current != head);
+            return n;
+        }
+    }
+
+    /**
+     * ORs both operands into the result nodes {@code [lo, hi)}, splitting
+     * the range between subtasks while it is large. Every result node but
+     * the last one is full, so the digit range of a task is known, and
+     * tasks write to disjoint nodes.
+     */
+    private final class OrTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node[] nodes;
+        private final int lo;
+        private final int hi;
+        private final Operand a;
+        private final Operand b;
+
+        OrTask(Node[] nodes, int lo, int hi, Operand a, Operand b) {
+            this.nodes = nodes;
+            this.lo = lo;
+            this.hi = hi;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > PARALLEL_NODES) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new OrTask(nodes, lo, mid, a, b), new OrTask(nodes, mid, hi, a, b));
+                return;
+            }
+            int from = lo * capacity;
+            int to = (hi - 1) * capacity + nodes[hi - 1].count;
+            orRange(a, from, to);
+            orRange(b, from, to);
+        }
+
+        /**
+         * ORs the digits of an operand which fall into result digits
+         * {@code [from, to)}.
+         */
+        private void orRange(Operand operand, int from, int to) {
+            int first = Math.max(from - operand.shift, 0);
+            // Operands end with the result, so only their start is clipped
+            int last = to - operand.shift;
+            if (first >= last) return;
+
+            int k = Arrays.binarySearch(operand.starts, first);
+            if (k < 0) k = -k - 2;
+            int dst = (first + operand.shift) / capacity;
+            orRun(operand.nodes[k], first - operand.starts[k],
+                    nodes[dst], first + operand.shift - dst * capacity, last - first);
+        }
+    }
+
+    /**
+     * Returns the string representation of the number stored in the list
+     * converted to the <b>decimal</b> scale of notation.
+     * <p>
+     * Large numbers are converted on the common {@code ForkJoinPool}.
+     *
+     * @return the string representation in decimal scale.
+     */
+    public String toDecimalString() {
+        return toDecimalString(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the string representation of the number stored in the list
+     * converted to the <b>decimal</b> scale of notation, converting the
+     * subtrees of large numbers in the given pool.
+     *
+     * @param pool the pool which runs the parallel conversion.
+     * @return the string representation in decimal scale.
+     */
+    public String toDecimalString(ForkJoinPool pool) {
+        if (decimalVersion != version) {
+            decimal = size == 0 ? "0" : RadixConversion.toString(toBigInteger(), 10, pool);
+            decimalVersion = version;
+        }
+        return decimal;
+    }
+
+    /**
+     * Returns the value of a number list. Lists which do not know their
+     * radix (see {@link #packed(NumberList)}) are read as octal digits.
+     *
+     * @param list the list to read.
+     * @return the value of the list; zero for an empty list.
+     * @throws IllegalArgumentException if a digit is not octal.
+     */
+    static BigInteger valueOf(NumberList list) {
+        return valueOf(list, DigitLayout.OCTAL);
+    }
+
+    /**
+     * Returns the value of a number list. Lists which do not know their
+     * radix are read as digits of the given layout.
+     */
+    private static BigInteger valueOf(NumberList list, DigitLayout layout) {
+        NumberListImpl packed = packed(list);
+        if (packed != null) {
+            return packed.toBigInteger();
+        }
+        NumberListImpl copy = new NumberListImpl(layout);
+        for (Byte e : list) {
+            copy.unsafeAdd(copy.checkDigit(e));
+        }
+        return copy.toBigInteger();
+    }
+
+    /**
+     * Returns the digits of a list that knows its own radix as a
+     * {@code NumberListImpl} of that radix.
+     *
+     * @param list the list to read.
+     * @return the list itself, a copy of its digits, or {@code null} if
+     *         the radix of the list is not known.
+     */
+    private static NumberListImpl packed(NumberList list) {
+        if (list instanceof NumberListImpl) return (NumberListImpl) list;
+        if (list instanceof PersistentNumberList) return ((PersistentNumberList) list).toNumberList();
+        if (list instanceof ConcurrentNumberList) return ((ConcurrentNumberList) list).snapshot().toNumberList();
+        return null;
+    }
+
+    /**
+     * Returns an octal list holding a non-negative value.
+     *
+     * @param value the value to store.
+     * @return a new list without leading zeros.
+     */
+    static NumberListImpl valueOf(BigInteger value) {
+        NumberListImpl list = new NumberListImpl();
+        list.appendValue(value);
+        return list;
+    }
+
+    /**
+     * Returns the value of the number stored in the list.
+     * <p>
+     * Digits of a power-of-two radix are already a bit string, so they are
+     * copied into the magnitude in linear time, starting from the least
+     * significant digit. Other radices go through the divide-and-conquer
+     * parser of {@link RadixConversion}.
+     *
+     * @return the value of the list.
+     */
+    private BigInteger toBigInteger() {
+        if (size == 0) return BigInteger.ZERO;
+        if (!layout.isBinary()) {
+            return RadixConversion.parse(toString(), 0, size, layout.radix);
+        }
+
+        byte[] magnitude = new byte[(int) (((long) size * layout.bits + 7) / 8)];
+        int pos = magnitude.length;
+        long buffer = 0;
+        int buffered = 0;
+
+        Node current = head;
+        do {
+            current = current.prev;
+            for (int i = current.count - 1; i >= 0; i--) {
+                buffer |= (long) layout.get(current.words, i) << buffered;
+                buffered += layout.bits;
+                while (buffered >= 8) {
+                    magnitude[--pos] = (byte) buffer;
+                    buffer >>>= 8;
+                    buffered -= 8;
+                }
+            }
+        } while (current != head);
+        if (buffered > 0) {
+            magnitude[--pos] = (byte) buffer;
+        }
+        return new BigInteger(1, magnitude);
+    }
+
+    /**
+     * Returns the string representation of the number in the list's radix.
+     * Digits above 9 are upper-case letters.
+     *
+     * @return the string representation of the list elements.
+     */
+    @Override
+    public String toString() {
+        if (head == null) return "";
+        StringBuilder sb = new StringBuilder(size);
+        Node current = head;
+        do {
+            for (int i = 0; i < current.count; i++) {
+                sb.append(Character.toUpperCase(Character.forDigit(layout.get(current.words, i), layout.radix)));
+            }
+            current = current.next;
+        } while (current != head);
+        return sb.toString();
+    }
+
+    // --- FIX: Added equals and hashCode for correct test comparisons ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberList)) return false;
+        // Snapshots and concurrent lists are equal to lists of their radix
+        NumberListImpl that = packed((NumberList) o);
+        if (that == null) return false;
+
+        // Equal digits of different radices are different numbers
+        if (this.layout != that.layout || this.size != that.size) return false;
+        return size == 0 || mismatch(this, 0, that, 0, size) < 0;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashVersion == version) return hash;
+        // Same as List.hashCode(), as Byte.hashCode() is the value itself
+        int hashCode = 1;
+        DigitCursor cursor = digitCursor();
+        while (cursor.hasNext())
+            hashCode = 31 * hashCode + cursor.nextDigit();
+        hash = hashCode;
+        hashVersion = version;
+        return hashCode;
+    }
+
+    /**
+     * Compares the numbers stored in two lists.
+     * <p>
+     * Leading zeros are skipped, then the number with more significant
+     * digits is the greater one, and numbers of equal length are ordered
+     * by their first differing digit. Digits are compared a word at a
+     * time. Lists of different radices are compared by value. An empty
+     * list is equal to zero.
+     * <p>
+     * The ordering is consistent with {@link #equals(Object)} only for
+     * lists of one radix without leading zeros. Lists of different radices
+     * are never equal, so octal {@code 21} and decimal {@code 17} compare
+     * as equal numbers but are not equal lists, and a {@code TreeSet}
+     * keeps one of them where a {@code HashSet} keeps both.
+     *
+     * @param other the list to compare with.
+     * @return a negative number, zero or a positive number if this number
+     *         is less than, equal to or greater than the other one.
+     */
+    @Override
+    public int compareTo(NumberListImpl other) {
+        if (this.layout != other.layout) {
+            return this.toBigInteger().compareTo(other.toBigInteger());
+        }
+        int from1 = this.leadingZeros();
+        int from2 = other.leadingZeros();
+        int length = this.size - from1;
+        if (length != other.size - from2) {
+            return Integer.compare(length, other.size - from2);
+        }
+        int index = mismatch(this, from1, other, from2, length);
+        if (index < 0) return 0;
+        return Integer.compare(this.getDigit(from1 + index), other.getDigit(from2 + index));
+    }
+
+    /**
+     * Returns the number of leading zero digits, skipping zero words at
+     * once.
+     */
+    private int leadingZeros() {
+        if (counts[0] == size) return size;
+        int base = 0;
+        Node current = head;
+        while (true) {
+            for (int w = 0; w < layout.wordsFor(current.count); w++) {
+                long word = current.words[w];
+                if (word != 0) {
+                    return base + w * layout.perWord + Long.numberOfTrailingZeros(word) / layout.bits;
+                }
+            }
+            base += current.count;
+            current = current.next;
+        }
+    }
+
+    /**
+     * Finds the first position where two ranges of digits differ.
+     * <p>
+     * The ranges are walked in runs of up to a word of digits that do not
+     * cross a node of either list, and every run is compared with a single
+     * XOR. Both lists must have the same layout.
+     *
+     * @return the offset of the first differing digit, or -1 if the
+     *         ranges are equal.
+     */
+    private static int mismatch(NumberListImpl a, int from1, NumberListImpl b, int from2, int length) {
+        if (length == 0) return -1;
+        DigitLayout layout = a.layout;
+        Node n1 = a.locate(from1);
+        int o1 = from1 - a.fingerStart;
+        Node n2 = b.locate(from2);
+        int o2 = from2 - b.fingerStart;
+        for (int done = 0; done < length; ) {
+            if (o1 == n1.count) {
+                n1 = n1.next;
+                o1 = 0;
+            }
+            if (o2 == n2.count) {
+                n2 = n2.next;
+                o2 = 0;
+            }
+            int n = Math.min(Math.min(layout.perWord, length - done), Math.min(n1.count - o1, n2.count - o2));
+            long diff = layout.read(n1.words, o1, n) ^ layout.read(n2.words, o2, n);
+            if (diff != 0) {
+                return done + Long.numberOfTrailingZeros(diff) / layout.bits;
+            }
+            done += n;
+            o1 += n;
+            o2 += n;
+        }
+        return -1;
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Returns an immutable snapshot of the digits.
+     * <p>
+     * No digit is copied: the snapshot shares the packed words of every
+     * node, and the list copies a node's words before it next writes to
+     * them. Taking a snapshot walks the nodes once, which is about
+     * {@code size / 672} steps for octal digits, and is O(1) while the list
+     * is unchanged since the previous snapshot.
+     *
+     * @return the snapshot of the list.
+     */
+    public PersistentNumberList snapshot() {
+        if (snapshotVersion != version) {
+            int nodes = nodeCount();
+            long[][] chunks = new long[nodes][];
+            int[] chunkSizes = new int[nodes];
+            Node current = head;
+            for (int k = 0; k < nodes; k++) {
+                current.shared = true;
+                chunks[k] = current.words;
+                chunkSizes[k] = current.count;
+                current = current.next;
+            }
+            snapshot = new PersistentNumberList(layout, capacity, chunks, chunkSizes);
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of nodes in the ring.
+     */
+    int nodeCount() {
+        if (head == null) return 0;
+        int n = 0;
+        Node current = head;
+        do {
+            n++;
+            current = current.next;
+        } while (current != head);
+        return n;
+    }
+
+    /**
+     * Appends a node holding a copy of {@code count} packed digits.
+     * The digit counts have to be rebuilt afterwards.
+     *
+     * @param words the packed digits of this list's layout.
+     * @param count the number of digits, at most one node.
+     */
+    void appendChunk(long[] words, int count) {
+        Node node;
+        if (head == null) {
+            node = head = new Node();
+            node.next = node;
+            node.prev = node;
+        } else {
+            node = linkAfter(head.prev);
+        }
+        System.arraycopy(words, 0, node.words, 0, NODE_WORDS);
+        node.count = count;
+        size += count;
+        modCount++;
+        version++;
+    }
+
+    // --- Primitive digit access ---
+
+    /**
+     * Returns the digit at the given position without boxing it.
+     *
+     * @param index the index of the digit.
+     * @return the digit.
+     */
+    public byte getDigit(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
+        Node current = locate(index);
+        return (byte) layout.get(current.words, index - fingerStart);
+    }
+
+    /**
+     * Passes every digit to {@code action}, from the most significant
+     * one, unpacking a whole word at a time.
+     *
+     * @param action the action to perform on every digit.
+     */
+    public void forEachDigit(IntConsumer action) {
+        if (head == null) return;
+        Node current = head;
+        do {
+            long[] words = current.words;
+            int i = 0;
+            for (int w = 0; i < current.count; w++) {
+                long word = words[w];
+                int end = Math.min(i + layout.perWord, current.count);
+                for (; i < end; i++) {
+                    action.accept((int) (word & layout.mask));
+                    word >>>= layout.bits;
+                }
+            }
+            current = current.next;
+        } while (current != head);
+    }
+
+    /**
+     * Returns a cursor over the digits of the list, positioned before the
+     * first digit.
+     *
+     * @return a new cursor.
+     */
+    public DigitCursor digitCursor() {
+        return new DigitCursor();
+    }
+
+    /**
+     * Forward cursor which returns digits as primitive values.
+     * <p>
+     * Unlike {@link #iterator()}, it does not box digits, and it can be
+     * rewound with {@link #reset()} and reused. Structural changes of the
+     * list made while the cursor is in use make it throw
+     * {@code ConcurrentModificationException}.
+     */
+    public final class DigitCursor {
+        private Node node;
+        private int offset;
+        private int index;
+        private int expectedModCount;
+
+        private DigitCursor() {
+            reset();
+        }
+
+        /**
+         * Moves the cursor back before the first digit of the list.
+         */
+        public void reset() {
+            node = head;
+            offset = 0;
+            index = 0;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns {@code true} if there are more digits.
+         */
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the next digit.
+         *
+         * @throws NoSuchElementException if there are no more digits.
+         */
+        public int nextDigit() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (index >= size) throw new NoSuchElementException();
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            index++;
+            return layout.get(node.words, offset++);
+        }
+    }
+
+    // --- Packed storage helpers ---
+
+    /**
+     * Validates a digit passed through the {@code List} interface.
+     *
+     * @param e the digit to check.
+     * @return the digit as a primitive value.
+     */
+    private int checkDigit(Byte e) {
+        if (e < 0 || e >= layout.radix) {
+            throw new IllegalArgumentException("Digit must be 0-" + (layout.radix - 1) + ". Got: " + e);
+        }
+        return e;
+    }
+
+    /**
+     * Returns how many times an object occurs in the list, in O(1).
+     *
+     * @param o the object to look for.
+     * @return the count of the digit, or 0 if {@code o} is not a digit.
+     */
+    private int occurrences(Object o) {
+        if (!(o instanceof Byte)) return 0;
+        int digit = (Byte) o;
+        return digit >= 0 && digit < counts.length ? counts[digit] : 0;
+    }
+
+    /**
+     * Links a new empty node right after {@code pred}.
+     *
+     * @return the new node.
+     */
+    private Node linkAfter(Node pred) {
+        Node node = new Node();
+        node.prev = pred;
+        node.next = pred.next;
+        pred.next.prev = node;
+        pred.next = node;
+        return node;
+    }
+
+    /**
+     * Unlinks an empty node from the ring.
+     */
+    private void unlink(Node node) {
+        if (node.next == node) {
+            head = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (node == head) {
+                head = node.next;
+            }
+        }
+    }
+
+    /**
+     * Moves the digits of a node to the end of the previous node and
+     * unlinks it, if they fit there. The head is never merged into the
+     * tail.
+     *
+     * @return {@code true} if the node was merged.
+     */
+    private boolean mergeIntoPrev(Node node) {
+        Node pred = node.prev;
+        if (node == head || pred.count + node.count > capacity) return false;
+        layout.copy(node.words, 0, pred.own(), pred.count, node.count);
+        pred.count += node.count;
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Moves digits {@code [at, count)} of a node into a new node linked
+     * right after it.
+     *
+     * @return the new node.
+     */
+    private Node split(Node node, int at) {
+        Node right = linkAfter(node);
+        right.count = node.count - at;
+        layout.copy(node.words, at, right.words, 0, right.count);
+        layout.clear(node.own(), at, node.count);
+        node.count = at;
+        return right;
+    }
+
+    /**
+     * Returns the node holding the digit at {@code index} and makes it the
+     * finger.
+     * <p>
+     * The walk starts from whichever of the head, the tail and the
+     * previous finger is closest to the index, and goes in either
+     * direction, so it never crosses more than half of the list and
+     * sequential access costs O(1) amortized. The offset of the digit in
+     * the node is {@code index - fingerStart}.
+     *
+     * @param index a valid digit index.
+     * @return the node holding the digit.
+     */
+    private Node locate(int index) {
+        Node node;
+        int start;
+        if (finger != null && Math.abs(index - fingerStart) < Math.min(index, size - index)) {
+            node = finger;
+            start = fingerStart;
+        } else if (index < size - index) {
+            node = head;
+            start = 0;
+        } else {
+            node = head.prev;
+            start = size - node.count;
+        }
+        while (index < start) {
+            node = node.prev;
+            start -= node.count;
+        }
+        while (index >= start + node.count) {
+            start += node.count;
+            node = node.next;
+        }
+        finger = node;
+        fingerStart = start;
+        return node;
+    }
+
+    /**
+     * Inserts a digit at the given offset of a node, splitting the node
+     * when it is full.
+     *
+     * @param start the index of the first digit of the node.
+     */
+    private void insertAt(Node node, int start, int offset, int digit) {
+        if (node.count == capacity) {
+            if (offset == 0 && node != head && node.prev.count < capacity) {
+                node = node.prev;
+                start -= node.count;
+                offset = node.count;
+            } else if (offset == 0) {
+                Node full = node;
+                node = linkAfter(full.prev);
+                if (full == head) head = node;
+            } else {
+                Node right = split(node, node.count / 2);
+                if (offset > node.count) {
+                    start += node.count;
+                    offset -= node.count;
+                    node = right;
+                }
+            }
+        }
+        layout.insert(node.own(), node.count, offset, digit);
+        node.count++;
+        size++;
+        counts[digit]++;
+        modCount++;
+        version++;
+        // Only the nodes after this one have moved
+        finger = node;
+        fingerStart = start;
+    }
+
+    /**
+     * Removes the digit at the given offset of a node, unlinking the node
+     * once it becomes empty.
+     * <p>
+     * A node left less than a quarter full is merged with a neighbour if
+     * the result is at most three quarters full. Splits make half-full
+     * nodes, so a node has to lose or gain a quarter of its capacity
+     * between a split and a merge, and removals cannot leave long runs of
+     * nearly empty nodes behind.
+     *
+     * @param start the index of the first digit of the node.
+     * @return the removed digit.
+     */
+    private int removeAt(Node node, int start, int offset) {
+        int digit = layout.remove(node.own(), node.count, offset);
+        node.count--;
+        size--;
+        counts[digit]--;
+        modCount++;
+        version++;
+        if (node.count == 0) {
+            unlink(node);
+            finger = null;
+            return digit;
+        }
+        finger = node;
+        fingerStart = start;
+        if (node.count < capacity / 4) {
+            int limit = capacity - capacity / 4;
+            if (node != head && node.prev.count + node.count <= limit) {
+                finger = node.prev;
+                fingerStart = start - node.prev.count;
+                mergeIntoPrev(node);
+            } else if (node.next != head && node.count + node.next.count <= limit) {
+                mergeIntoPrev(node.next);
+            }
+        }
+        return digit;
+    }
+
+    // --- List methods implementation ---
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return occurrences(o) > 0;
+    }
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new DigitIterator(0);
+    }
+
+    /**
+     * Returns an iterator over the digits as they are now.
+     * <p>
+     * Unlike {@link #iterator()}, it does not fail when the list is changed
+     * during the iteration and keeps returning the old digits. It walks a
+     * {@link #snapshot()}, so no digit is copied up front: a node the list
+     * changes later is copied by the list, not by the iterator. The
+     * iterator does not support {@code remove}.
+     *
+     * @return an iterator over a snapshot of the digits.
+     */
+    public Iterator<Byte> snapshotIterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * List iterator over the nodes of the ring.
+     * <p>
+     * It keeps the node of the last visited digit, so stepping in either
+     * direction is O(1) amortized. Edits made through the iterator go
+     * through the list and drop that node, which is then found again
+     * next to the finger. Any other structural change of the list makes
+     * the iterator throw {@code ConcurrentModificationException}.
+     */
+    private class DigitIterator implements ListIterator<Byte> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+        private Node node;
+        private int start;
+
+        DigitIterator(int index) {
+            this.cursor = index;
+        }
+
+        /**
+         * Returns the node holding the digit at {@code index}.
+         */
+        private Node nodeAt(int index) {
+            if (node == null || index < start || index >= start + node.count) {
+                node = locate(index);
+                start = fingerStart;
+            }
+            return node;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Byte next() {
+            checkForComodification();
+            if (!hasNext()) throw new NoSuchElementException();
+            Node current = nodeAt(cursor);
+            lastReturned = cursor++;
+            return (byte) layout.get(current.words, lastReturned - start);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Byte previous() {
+            checkForComodification();
+            if (!hasPrevious()) throw new NoSuchElementException();
+            Node current = nodeAt(--cursor);
+            lastReturned = cursor;
+            return (byte) layout.get(current.words, lastReturned - start);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) throw new IllegalStateException();
+            checkForComodification();
+            NumberListImpl.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+            node = null;
+        }
+
+        @Override
+        public void set(Byte e) {
+            if (lastReturned < 0) throw new IllegalStateException();
+            checkForComodification();
+            NumberListImpl.this.set(lastReturned, e);
+        }
+
+        @Override
+        public void add(Byte e) {
+            checkForComodification();
+            NumberListImpl.this.add(cursor++, e);
+            lastReturned = -1;
+            expectedModCount = modCount;
+            node = null;
+        }
+    }
+
+    /**
+     * Returns a spliterator over the digits which splits in O(1), so
+     * parallel streams of the list scale across cores.
      */
-    public static int getRecordBookNumber() {
-        return 3317;
+    @Override
+    public Spliterator<Byte> spliterator() {
+        return new ByteSpliterator(new DigitSpliterator());
     }
 
     /**
-     * Returns a new {@code NumberListImpl} which represents the same number
-     * in the Decimal scale of notation.
-     * <p>
-     * Calculated as: (C5 + 1) % 5 = 3 (Decimal).
+     * Returns a stream of the digits, from the most significant one,
+     * without boxing them.
      *
-     * @return a new {@code NumberListImpl} containing decimal digits.
+     * @return a sequential stream of the digits; call
+     *         {@code parallel()} on it for a parallel one.
      */
-    public NumberListImpl changeScale() {
-        NumberListImpl decimalList = new NumberListImpl();
-        String decimalStr = toDecimalString(); 
-
-        for (char c : decimalStr.toCharArray()) {
-            byte val = (byte) Character.getNumericValue(c);
-            decimalList.unsafeAdd(val); 
-        }
-        return decimalList;
+    public IntStream digits() {
+        return StreamSupport.intStream(new DigitSpliterator(), false);
     }
 
     /**
-     * Performs the Bitwise OR operation (C7 = 6).
-     *
-     * @param arg the second operand of the operation.
-     * @return a new {@code NumberListImpl} representing the result of the OR operation.
+     * Spliterator over the digits {@code [index, end)}.
+     * <p>
+     * Splitting halves the index range without touching the nodes. The
+     * first node of a range is found on the first traversal, walking from
+     * the nearer end of the ring. That walk does not move the finger, so
+     * parallel traversals only read the list. The spliterator of the
+     * whole list is late-binding: it takes the size of the list when it is
+     * first traversed, split or sized, not when it is created. Structural
+     * changes after that are reported with
+     * {@code ConcurrentModificationException}.
      */
-    public NumberListImpl additionalOperation(NumberList arg) {
-        NumberListImpl other = (NumberListImpl) arg;
-        NumberListImpl result = new NumberListImpl();
-        
-        if (this.isEmpty() && other.isEmpty()) return result;
-
-        Node p1 = (this.head != null) ? this.head.prev : null;
-        Node p2 = (other.head != null) ? other.head.prev : null;
+    private final class DigitSpliterator implements Spliterator.OfInt {
+        private int index;
+        private int end;
+        private int expectedModCount;
+        private Node node;
+        private int offset;
+
+        /**
+         * Creates a late-binding spliterator over the whole list.
+         */
+        DigitSpliterator() {
+            this.end = -1;
+        }
 
-        int maxLen = Math.max(this.size, other.size);
-        
-        List<Byte> tempResult = new ArrayList<>();
+        DigitSpliterator(int index, int end, int expectedModCount) {
+            this.index = index;
+            this.end = end;
+            this.expectedModCount = expectedModCount;
+        }
 
-        for (int i = 0; i < maxLen; i++) {
-            byte val1 = 0;
-            byte val2 = 0;
+        /**
+         * Binds the spliterator to the current size of the list, if it is
+         * not bound yet.
+         *
+         * @return the end of the range.
+         */
+        private int end() {
+            if (end < 0) {
+                end = size;
+                expectedModCount = modCount;
+            }
+            return end;
+        }
 
-            if (i < this.size) {
-                val1 = p1.value;
-                p1 = p1.prev;
+        /**
+         * Finds the node holding digit {@code index}.
+         */
+        private void position() {
+            int start;
+            if (index < size - index) {
+                node = head;
+                start = 0;
+                while (index >= start + node.count) {
+                    start += node.count;
+                    node = node.next;
+                }
+            } else {
+                node = head.prev;
+                start = size - node.count;
+                while (index < start) {
+                    node = node.prev;
+                    start -= node.count;
+                }
             }
-            if (i < other.size) {
-                val2 = p2.value;
-                p2 = p2.prev;
+            offset = index - start;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mid = (index + end()) >>> 1;
+            if (mid <= index) return null;
+            DigitSpliterator prefix = new DigitSpliterator(index, mid, expectedModCount);
+            prefix.node = node;
+            prefix.offset = offset;
+            index = mid;
+            node = null;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= end()) return false;
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (node == null) position();
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
             }
+            index++;
+            action.accept(layout.get(node.words, offset++));
+            return true;
+        }
 
-            byte res = (byte) (val1 | val2);
-            tempResult.add(res);
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (index >= end()) return;
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (node == null) position();
+            Node current = node;
+            int i = offset;
+            for (int left = end - index; left > 0; ) {
+                if (i == current.count) {
+                    current = current.next;
+                    i = 0;
+                }
+                int n = Math.min(left, current.count - i);
+                for (int k = i + n; i < k; i++) {
+                    action.accept(layout.get(current.words, i));
+                }
+                left -= n;
+            }
+            index = end;
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
         }
 
-        for (int i = tempResult.size() - 1; i >= 0; i--) {
-            result.add(tempResult.get(i));
+        @Override
+        public long estimateSize() {
+            return end() - index;
         }
 
-        return result;
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
     }
 
     /**
-     * Returns the string representation of the number stored in the list
-     * converted to the <b>decimal</b> scale of notation.
-     *
-     * @return the string representation in decimal scale.
+     * {@link DigitSpliterator} which boxes the digits for
+     * {@code stream()} and {@code parallelStream()}.
      */
-    public String toDecimalString() {
-        if (size == 0) return "0";
-        
-        // FIX: Use BigInteger calculation to avoid overflow on large lists
-        BigInteger decimalValue = BigInteger.ZERO;
-        BigInteger multiplier = BigInteger.ONE;
-        BigInteger base = BigInteger.valueOf(8);
-
-        Node current = head.prev;
-        for (int i = 0; i < size; i++) {
-            BigInteger digit = BigInteger.valueOf(current.value);
-            decimalValue = decimalValue.add(digit.multiply(multiplier));
-            multiplier = multiplier.multiply(base);
-            current = current.prev;
+    private static final class ByteSpliterator implements Spliterator<Byte> {
+        private final Spliterator.OfInt digits;
+
+        ByteSpliterator(Spliterator.OfInt digits) {
+            this.digits = digits;
         }
-        return decimalValue.toString();
-    }
 
-    /**
-     * Returns the string representation of the number in its current (Octal) notation.
-     *
-     * @return the string representation of the list elements.
-     */
-    @Override
-    public String toString() {
-        if (head == null) return "";
-        StringBuilder sb = new StringBuilder();
-        Node current = head;
-        do {
-            sb.append(current.value);
-            current = current.next;
-        } while (current != head);
-        return sb.toString();
-    }
+        @Override
+        public boolean tryAdvance(Consumer<? super Byte> action) {
+            return digits.tryAdvance((int digit) -> action.accept((byte) digit));
+        }
 
-    // --- FIX: Added equals and hashCode for correct test comparisons ---
+        @Override
+        public void forEachRemaining(Consumer<? super Byte> action) {
+            digits.forEachRemaining((int digit) -> action.accept((byte) digit));
+        }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof NumberListImpl)) return false;
-        NumberListImpl that = (NumberListImpl) o;
-        
-        if (this.size != that.size) return false;
-        if (this.size == 0) return true;
+        @Override
+        public Spliterator<Byte> trySplit() {
+            Spliterator.OfInt prefix = digits.trySplit();
+            return prefix == null ? null : new ByteSpliterator(prefix);
+        }
 
-        Iterator<Byte> it1 = this.iterator();
-        Iterator<Byte> it2 = that.iterator();
+        @Override
+        public long estimateSize() {
+            return digits.estimateSize();
+        }
 
-        while (it1.hasNext() && it2.hasNext()) {
-            if (!Objects.equals(it1.next(), it2.next())) {
-                return false;
-            }
+        @Override
+        public int characteristics() {
+            return digits.characteristics();
         }
-        return true;
     }
 
-    @Override
-    public int hashCode() {
-        int hashCode = 1;
-        for (Byte e : this)
-            hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
-        return hashCode;
-    }
+    /**
+     * Live view of the digits {@code [offset, offset + size)} of the list.
+     * <p>
+     * Every access is delegated to the list at the shifted index, so it
+     * starts from the finger and range scans cost O(range). Structural
+     * changes of the list made outside the view make the view throw
+     * {@code ConcurrentModificationException}.
+     */
+    private class SubList extends AbstractList<Byte> {
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        SubList(int fromIndex, int toIndex) {
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = NumberListImpl.this.modCount;
+        }
 
-    // --- List methods implementation ---
+        private void checkForComodification() {
+            if (NumberListImpl.this.modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
 
-    @Override
-    public int size() {
-        return size;
-    }
+        private void checkIndex(int index, int bound) {
+            if (index < 0 || index >= bound) throw new IndexOutOfBoundsException();
+        }
 
-    @Override
-    public boolean isEmpty() {
-        return size == 0;
-    }
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
 
-    @Override
-    public boolean contains(Object o) {
-        for (Byte b : this) {
-            if (o.equals(b)) return true;
+        @Override
+        public Byte get(int index) {
+            checkIndex(index, size);
+            checkForComodification();
+            return NumberListImpl.this.get(offset + index);
         }
-        return false;
-    }
 
-    @Override
-    public Iterator<Byte> iterator() {
-        return new Iterator<Byte>() {
-            private Node current = head;
-            private int count = 0;
+        @Override
+        public Byte set(int index, Byte element) {
+            checkIndex(index, size);
+            checkForComodification();
+            return NumberListImpl.this.set(offset + index, element);
+        }
 
-            @Override
-            public boolean hasNext() {
-                return count < size;
-            }
+        @Override
+        public void add(int index, Byte element) {
+            checkIndex(index, size + 1);
+            checkForComodification();
+            NumberListImpl.this.add(offset + index, element);
+            expectedModCount = NumberListImpl.this.modCount;
+            size++;
+            modCount++;
+        }
 
-            @Override
-            public Byte next() {
-                if (!hasNext()) throw new NoSuchElementException();
-                Byte val = current.value;
-                current = current.next;
-                count++;
-                return val;
-            }
-        };
+        @Override
+        public Byte remove(int index) {
+            checkIndex(index, size);
+            checkForComodification();
+            Byte removed = NumberListImpl.this.remove(offset + index);
+            expectedModCount = NumberListImpl.this.modCount;
+            size--;
+            modCount++;
+            return removed;
+        }
     }
 
     @Override
     public Object[] toArray() {
         Object[] arr = new Object[size];
-        int i = 0;
-        for (Byte b : this) {
-            arr[i++] = b;
+        DigitCursor cursor = digitCursor();
+        for (int i = 0; i < size; i++) {
+            arr[i] = (byte) cursor.nextDigit();
         }
         return arr;
     }
@@ -340,10 +1754,10 @@ public class NumberListImpl implements NumberList {
     public <T> T[] toArray(T[] a) {
         if (a.length < size)
             a = (T[])java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
-        int i = 0;
         Object[] result = a;
-        for (Byte b : this) {
-            result[i++] = b;
+        DigitCursor cursor = digitCursor();
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) cursor.nextDigit();
         }
         if (a.length > size)
             a[size] = null;
@@ -352,126 +1766,107 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean add(Byte e) {
-        if (e < 0 || e > 7) {
-             throw new IllegalArgumentException("Octal digit must be 0-7. Got: " + e);
-        }
-        unsafeAdd(e);
+        unsafeAdd(checkDigit(e));
         return true;
     }
-    
-    private void unsafeAdd(Byte e) {
-        Node newNode = new Node(e);
+
+    private void unsafeAdd(int digit) {
+        Node tail;
         if (head == null) {
-            head = newNode;
+            head = new Node();
             head.next = head;
             head.prev = head;
+            tail = head;
         } else {
-            Node tail = head.prev;
-            tail.next = newNode;
-            newNode.prev = tail;
-            newNode.next = head;
-            head.prev = newNode;
+            tail = head.prev;
+            if (tail.count == capacity) {
+                tail = linkAfter(tail);
+            }
         }
+        layout.set(tail.own(), tail.count++, digit);
         size++;
+        counts[digit]++;
+        modCount++;
+        version++;
     }
 
     @Override
     public boolean remove(Object o) {
-        if (head == null) return false;
+        if (occurrences(o) == 0) return false;
+        int digit = (Byte) o;
+        int base = 0;
         Node current = head;
-        for (int i = 0; i < size; i++) {
-            if (o.equals(current.value)) {
-                removeNode(current);
-                return true;
+        do {
+            for (int i = 0; i < current.count; i++) {
+                if (layout.get(current.words, i) == digit) {
+                    removeAt(current, base, i);
+                    return true;
+                }
             }
+            base += current.count;
             current = current.next;
-        }
+        } while (current != head);
         return false;
     }
-    
-    private void removeNode(Node node) {
-        if (size == 1) {
-            head = null;
-        } else {
-            node.prev.next = node.next;
-            node.next.prev = node.prev;
-            if (node == head) {
-                head = node.next;
-            }
-        }
-        size--;
-    }
 
     @Override
     public void clear() {
         head = null;
+        finger = null;
         size = 0;
+        Arrays.fill(counts, 0);
+        modCount++;
+        version++;
     }
 
     @Override
     public Byte get(int index) {
-        if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
-        return current.value;
+        return getDigit(index);
     }
 
     @Override
     public Byte set(int index, Byte element) {
         if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
-        Byte oldVal = current.value;
-        current.value = element;
+        int digit = checkDigit(element);
+        Node current = locate(index);
+        int offset = index - fingerStart;
+        Byte oldVal = (byte) layout.get(current.words, offset);
+        layout.set(current.own(), offset, digit);
+        counts[oldVal]--;
+        counts[digit]++;
+        version++;
         return oldVal;
     }
 
     @Override
     public void add(int index, Byte element) {
         if (index < 0 || index > size) throw new IndexOutOfBoundsException();
+        int digit = checkDigit(element);
         if (index == size) {
-            add(element);
+            unsafeAdd(digit);
         } else {
-            Node newNode = new Node(element);
-            Node current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
-            }
-            Node pred = current.prev;
-            pred.next = newNode;
-            newNode.prev = pred;
-            newNode.next = current;
-            current.prev = newNode;
-            if (index == 0) head = newNode;
-            size++;
+            Node current = locate(index);
+            insertAt(current, fingerStart, index - fingerStart, digit);
         }
     }
 
     @Override
     public Byte remove(int index) {
         if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
-        Byte val = current.value;
-        removeNode(current);
-        return val;
+        Node current = locate(index);
+        return (byte) removeAt(current, fingerStart, index - fingerStart);
     }
 
     @Override
     public int indexOf(Object o) {
-        if (head == null) return -1;
-        Node current = head;
-        for (int i = 0; i < size; i++) {
-            if (o.equals(current.value)) return i;
-            current = current.next;
+        if (occurrences(o) == 0) return -1;
+        int digit = (Byte) o;
+        indexPositions();
+        if (firstVersion[digit] != version) {
+            firstIndex[digit] = findFirst(digit);
+            firstVersion[digit] = version;
         }
-        return -1;
+        return firstIndex[digit];
     }
 
     // --- NumberList specific methods ---
@@ -481,121 +1876,387 @@ public class NumberListImpl implements NumberList {
         if (index1 < 0 || index1 >= size || index2 < 0 || index2 >= size) return false;
         if (index1 == index2) return true;
 
-        Node n1 = head;
-        for(int i=0; i<index1; i++) n1 = n1.next;
-        
-        Node n2 = head;
-        for(int i=0; i<index2; i++) n2 = n2.next;
+        Node n1 = locate(index1);
+        index1 -= fingerStart;
+        Node n2 = locate(index2);
+        index2 -= fingerStart;
+
+        int temp = layout.get(n1.words, index1);
+        layout.set(n1.own(), index1, layout.get(n2.words, index2));
+        layout.set(n2.own(), index2, temp);
+        version++;
 
-        Byte temp = n1.value;
-        n1.value = n2.value;
-        n2.value = temp;
-        
         return true;
     }
 
     @Override
     public void sortAscending() {
-        if (size <= 1) return;
-        for (int i = 0; i < size; i++) {
-            Node current = head;
-            for (int j = 0; j < size - 1; j++) {
-                if (current.value > current.next.value) {
-                    Byte temp = current.value;
-                    current.value = current.next.value;
-                    current.next.value = temp;
-                }
-                current = current.next;
-            }
-        }
+        countingSort(true);
     }
 
     @Override
     public void sortDescending() {
+        countingSort(false);
+    }
+
+    /**
+     * Counting sort: the digit counts are already kept up to date, so one
+     * pass rewrites the nodes with runs of equal digits. Runs in O(n)
+     * and allocates nothing.
+     *
+     * @param ascending the requested order.
+     */
+    private void countingSort(boolean ascending) {
         if (size <= 1) return;
-        for (int i = 0; i < size; i++) {
-            Node current = head;
-            for (int j = 0; j < size - 1; j++) {
-                if (current.value < current.next.value) {
-                    Byte temp = current.value;
-                    current.value = current.next.value;
-                    current.next.value = temp;
+        int digit = ascending ? 0 : layout.radix - 1;
+        int step = ascending ? 1 : -1;
+        int left = counts[digit];
+        Node current = head;
+        do {
+            for (int i = 0; i < current.count; ) {
+                while (left == 0) {
+                    digit += step;
+                    left = counts[digit];
                 }
-                current = current.next;
+                int n = Math.min(left, current.count - i);
+                layout.fill(current.own(), i, i + n, digit);
+                i += n;
+                left -= n;
             }
-        }
+            current = current.next;
+        } while (current != head);
+        version++;
     }
 
     @Override
     public void shiftLeft() {
-        if (size <= 1) return;
-        head = head.next;
+        shiftLeft(1);
     }
 
     @Override
     public void shiftRight() {
+        shiftRight(1);
+    }
+
+    /**
+     * Performs left cyclic shift by {@code distance} positions.
+     * <p>
+     * The distance is reduced modulo the size, and the new head is found
+     * from the nearer end, so the cost is O(min(k, n - k)) node hops plus
+     * one node copy. A negative distance shifts to the right.
+     *
+     * @param distance the number of positions to shift by.
+     */
+    public void shiftLeft(int distance) {
+        if (size <= 1) return;
+        rotate(Math.floorMod(distance, size));
+    }
+
+    /**
+     * Performs right cyclic shift by {@code distance} positions.
+     * A negative distance shifts to the left.
+     *
+     * @param distance the number of positions to shift by.
+     * @see #shiftLeft(int)
+     */
+    public void shiftRight(int distance) {
         if (size <= 1) return;
-        head = head.prev;
+        rotate((size - Math.floorMod(distance, size)) % size);
+    }
+
+    /**
+     * Makes the digit at {@code index} the first one.
+     * <p>
+     * The node holding it is split, and the nodes that met at the old
+     * head are merged when they fit into one, so repeated rotations do
+     * not fragment the ring.
+     *
+     * @param index the index of the new first digit.
+     */
+    private void rotate(int index) {
+        if (index == 0) return;
+        Node oldHead = head;
+        Node node = locate(index);
+        int offset = index - fingerStart;
+        head = offset == 0 ? node : split(node, offset);
+
+        mergeIntoPrev(oldHead);
+        finger = head;
+        fingerStart = 0;
+        modCount++;
+        version++;
     }
 
-    // --- Unimplemented methods ---
+    // --- Bulk operations and views ---
 
     @Override
     public boolean containsAll(Collection<?> c) {
         for (Object e : c) {
-            if (!contains(e)) return false;
+            if (occurrences(e) == 0) return false;
         }
         return true;
     }
 
     @Override
     public boolean addAll(Collection<? extends Byte> c) {
-        boolean modified = false;
-        for (Byte e : c) {
-            if (add(e)) modified = true;
-        }
-        return modified;
+        return addAll(size, c);
     }
 
+    /**
+     * Inserts all digits of a collection at the given position.
+     * <p>
+     * The digits are first packed into a chain of new nodes, so the list
+     * is left unchanged when one of them is invalid. The chain is then
+     * linked in at the insertion point, which is found once, and the
+     * nodes at both seams are merged when they fit into one. Nodes of a
+     * {@code NumberListImpl} with the same packing are copied word by
+     * word.
+     */
     @Override
     public boolean addAll(int index, Collection<? extends Byte> c) {
-        throw new UnsupportedOperationException();
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException();
+        Node first = new Node();
+        Node last = first;
+        int added = 0;
+        int[] addedCounts;
+
+        if (c instanceof NumberListImpl && ((NumberListImpl) c).layout == layout) {
+            NumberListImpl other = (NumberListImpl) c;
+            Node current = other.head;
+            if (current != null) {
+                do {
+                    if (last.count > 0) {
+                        last = linkChain(last);
+                    }
+                    System.arraycopy(current.words, 0, last.words, 0, NODE_WORDS);
+                    last.count = current.count;
+                    current = current.next;
+                } while (current != other.head);
+            }
+            added = other.size;
+            addedCounts = other.counts;
+        } else {
+            addedCounts = new int[layout.radix];
+            for (Byte e : c) {
+                int digit = checkDigit(e);
+                if (last.count == capacity) {
+                    last = linkChain(last);
+                }
+                layout.set(last.words, last.count++, digit);
+                addedCounts[digit]++;
+                added++;
+            }
+        }
+        if (added == 0) return false;
+
+        if (head == null) {
+            head = first;
+            first.prev = last;
+            last.next = first;
+        } else {
+            Node pred;
+            if (index == size) {
+                pred = head.prev;
+            } else {
+                Node node = locate(index);
+                int offset = index - fingerStart;
+                pred = offset == 0 ? node.prev : node;
+                if (offset != 0) {
+                    split(node, offset);
+                } else if (node == head) {
+                    head = first;
+                }
+            }
+            Node after = pred.next;
+            first.prev = pred;
+            last.next = after;
+            after.prev = last;
+            pred.next = first;
+
+            mergeIntoPrev(first);
+            mergeIntoPrev(after);
+        }
+        size += added;
+        for (int digit = 0; digit < counts.length; digit++) {
+            counts[digit] += addedCounts[digit];
+        }
+        finger = null;
+        modCount++;
+        version++;
+        return true;
+    }
+
+    /**
+     * Appends a new node to a chain that is not linked into the ring yet.
+     *
+     * @return the new node.
+     */
+    private static Node linkChain(Node last) {
+        Node node = new Node();
+        node.prev = last;
+        last.next = node;
+        return node;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        boolean modified = false;
+        return removeDigits(digitMask(c));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeDigits(~digitMask(c));
+    }
+
+    /**
+     * Returns the set of digits of this radix that a collection contains,
+     * with bit {@code d} standing for digit {@code d}. The digits of a
+     * {@code NumberListImpl} are read from its digit counts.
+     */
+    private long digitMask(Collection<?> c) {
+        long all = (1L << layout.radix) - 1;
+        long mask = 0;
+        if (c instanceof NumberListImpl) {
+            int[] other = ((NumberListImpl) c).counts;
+            for (int d = Math.min(other.length, counts.length) - 1; d >= 0; d--) {
+                if (other[d] > 0) mask |= 1L << d;
+            }
+            return mask;
+        }
         for (Object e : c) {
-            while (contains(e)) {
-                remove(e);
-                modified = true;
+            if (e instanceof Byte) {
+                int digit = (Byte) e;
+                if (digit >= 0 && digit < layout.radix) mask |= 1L << digit;
+                if (mask == all) break;
             }
         }
-        return modified;
+        return mask;
     }
 
-    @Override
-    public boolean retainAll(Collection<?> c) {
-        throw new UnsupportedOperationException();
+    /**
+     * Removes every digit in {@code removed} in a single pass that packs
+     * the remaining digits into full nodes from the head on.
+     *
+     * @param removed the digits to remove, bit {@code d} for digit {@code d}.
+     * @return {@code true} if the list changed.
+     */
+    private boolean removeDigits(long removed) {
+        int removedCount = 0;
+        for (int d = 0; d < counts.length; d++) {
+            if ((removed >>> d & 1) != 0) removedCount += counts[d];
+        }
+        if (removedCount == 0) return false;
+        if (removedCount == size) {
+            clear();
+            return true;
+        }
+
+        // The write position never passes the read position
+        Node dst = head;
+        int dstCount = 0;
+        Node src = head;
+        do {
+            for (int i = 0; i < src.count; i++) {
+                int digit = layout.get(src.words, i);
+                if ((removed >>> digit & 1) != 0) continue;
+                if (dstCount == capacity) {
+                    dst.count = capacity;
+                    dst = dst.next;
+                    dstCount = 0;
+                }
+                layout.set(dst.own(), dstCount++, digit);
+            }
+            src = src.next;
+        } while (src != head);
+
+        if (dstCount < dst.count) layout.clear(dst.own(), dstCount, dst.count);
+        dst.count = dstCount;
+        dst.next = head;
+        head.prev = dst;
+
+        for (int d = 0; d < counts.length; d++) {
+            if ((removed >>> d & 1) != 0) counts[d] = 0;
+        }
+        size -= removedCount;
+        finger = head;
+        fingerStart = 0;
+        modCount++;
+        version++;
+        return true;
     }
 
     @Override
     public int lastIndexOf(Object o) {
-        throw new UnsupportedOperationException();
+        if (occurrences(o) == 0) return -1;
+        int digit = (Byte) o;
+        indexPositions();
+        if (lastVersion[digit] != version) {
+            lastIndex[digit] = findLast(digit);
+            lastVersion[digit] = version;
+        }
+        return lastIndex[digit];
+    }
+
+    /**
+     * Creates the tables of first and last positions, with every entry
+     * stale.
+     */
+    private void indexPositions() {
+        if (firstIndex != null) return;
+        firstIndex = new int[counts.length];
+        lastIndex = new int[counts.length];
+        firstVersion = new int[counts.length];
+        lastVersion = new int[counts.length];
+        Arrays.fill(firstVersion, -1);
+        Arrays.fill(lastVersion, -1);
+    }
+
+    /**
+     * Finds the first position of a digit that occurs in the list,
+     * walking forward from the head.
+     */
+    private int findFirst(int digit) {
+        int start = 0;
+        Node current = head;
+        while (true) {
+            for (int i = 0; i < current.count; i++) {
+                if (layout.get(current.words, i) == digit) return start + i;
+            }
+            start += current.count;
+            current = current.next;
+        }
+    }
+
+    /**
+     * Finds the last position of a digit that occurs in the list,
+     * walking backward from the tail.
+     */
+    private int findLast(int digit) {
+        int start = size;
+        Node current = head;
+        while (true) {
+            current = current.prev;
+            start -= current.count;
+            for (int i = current.count - 1; i >= 0; i--) {
+                if (layout.get(current.words, i) == digit) return start + i;
+            }
+        }
     }
 
     @Override
     public ListIterator<Byte> listIterator() {
-        throw new UnsupportedOperationException();
+        return new DigitIterator(0);
     }
 
     @Override
     public ListIterator<Byte> listIterator(int index) {
-        throw new UnsupportedOperationException();
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException();
+        return new DigitIterator(index);
     }
 
     @Override
     public List<Byte> subList(int fromIndex, int toIndex) {
-        throw new UnsupportedOperationException();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new SubList(fromIndex, toIndex);
     }
-}
\ No newline at end of file
+}
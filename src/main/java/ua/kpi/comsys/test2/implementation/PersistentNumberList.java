@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Immutable number list with cheap modified copies.
+ * <p>
+ * Digits are packed into chunks of the same size and layout as the nodes
+ * of {@link NumberListImpl}. The chunks are kept in a persistent AVL tree
+ * ordered by position, where every tree node knows how many digits its
+ * subtree holds. {@link #withDigit}, {@link #withInserted} and
+ * {@link #withRemoved} copy only the path to the changed chunk and that
+ * chunk itself, so they take O(log n) time and share everything else with
+ * the original list. Snapshots are taken with
+ * {@link NumberListImpl#snapshot()}.
+ * <p>
+ * Every mutator of {@link java.util.List} and {@link NumberList} throws
+ * {@link UnsupportedOperationException}.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+public final class PersistentNumberList extends AbstractList<Byte> implements NumberList {
+
+    /**
+     * A tree node owning one non-empty chunk of packed digits.
+     * Neither the node nor its words are changed after construction.
+     */
+    private static final class Chunk {
+        final Chunk left;
+        final Chunk right;
+        final long[] words;
+        final int count;
+        final int size;
+        final int height;
+
+        Chunk(Chunk left, long[] words, int count, Chunk right) {
+            this.left = left;
+            this.right = right;
+            this.words = words;
+            this.count = count;
+            this.size = size(left) + count + size(right);
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private final DigitLayout layout;
+    private final int capacity;
+    private final Chunk root;
+
+    /**
+     * Cached {@link #toDecimalString()}. Threads may race to set it, but
+     * they all compute the same immutable string.
+     */
+    private String decimal;
+
+    /**
+     * Builds a balanced tree over the given chunks, which must not be
+     * changed afterwards.
+     */
+    PersistentNumberList(DigitLayout layout, int capacity, long[][] chunks, int[] counts) {
+        this(layout, capacity, build(chunks, counts, 0, chunks.length));
+    }
+
+    private PersistentNumberList(DigitLayout layout, int capacity, Chunk root) {
+        this.layout = layout;
+        this.capacity = capacity;
+        this.root = root;
+    }
+
+    private static Chunk build(long[][] chunks, int[] counts, int from, int to) {
+        if (from == to) return null;
+        int mid = (from + to) >>> 1;
+        return new Chunk(build(chunks, counts, from, mid), chunks[mid], counts[mid],
+                build(chunks, counts, mid + 1, to));
+    }
+
+    /**
+     * Returns the radix of the digits.
+     *
+     * @return the radix.
+     */
+    public int getRadix() {
+        return layout.radix;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Byte get(int index) {
+        return (byte) getDigit(index);
+    }
+
+    /**
+     * Returns the digit at the given position without boxing it.
+     *
+     * @param index the position of the digit.
+     * @return the digit.
+     */
+    public int getDigit(int index) {
+        checkIndex(index, size());
+        Chunk chunk = root;
+        while (true) {
+            int left = size(chunk.left);
+            if (index < left) {
+                chunk = chunk.left;
+            } else if (index < left + chunk.count) {
+                return layout.get(chunk.words, index - left);
+            } else {
+                index -= left + chunk.count;
+                chunk = chunk.right;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of this list with the digit at {@code index} replaced.
+     *
+     * @param index the position of the digit.
+     * @param digit the new digit.
+     * @return the modified copy.
+     */
+    public PersistentNumberList withDigit(int index, byte digit) {
+        checkIndex(index, size());
+        checkDigit(digit);
+        return new PersistentNumberList(layout, capacity, set(root, index, digit));
+    }
+
+    /**
+     * Returns a copy of this list with a digit inserted at {@code index}.
+     *
+     * @param index the position of the new digit, up to {@link #size()}.
+     * @param digit the digit to insert.
+     * @return the modified copy.
+     */
+    public PersistentNumberList withInserted(int index, byte digit) {
+        checkIndex(index, size() + 1);
+        checkDigit(digit);
+        if (root == null) {
+            long[] words = new long[NumberListImpl.NODE_WORDS];
+            layout.set(words, 0, digit);
+            return new PersistentNumberList(layout, capacity, new Chunk(null, words, 1, null));
+        }
+        // Appending goes into the last chunk, not a new one after it
+        return new PersistentNumberList(layout, capacity,
+                insert(root, Math.min(index, size() - 1), index == size(), digit));
+    }
+
+    /**
+     * Returns a copy of this list without the digit at {@code index}.
+     *
+     * @param index the position of the digit to remove.
+     * @return the modified copy.
+     */
+    public PersistentNumberList withRemoved(int index) {
+        checkIndex(index, size());
+        return new PersistentNumberList(layout, capacity, remove(root, index));
+    }
+
+    /**
+     * Returns a mutable list holding the same digits.
+     *
+     * @return a new list in the same radix.
+     */
+    public NumberListImpl toNumberList() {
+        NumberListImpl list = new NumberListImpl(layout.radix);
+        forEachChunk(root, list);
+        list.recount();
+        return list;
+    }
+
+    private static void forEachChunk(Chunk chunk, NumberListImpl list) {
+        if (chunk == null) return;
+        forEachChunk(chunk.left, list);
+        list.appendChunk(chunk.words, chunk.count);
+        forEachChunk(chunk.right, list);
+    }
+
+    /**
+     * Returns the decimal representation of the number. It is computed
+     * once and then kept.
+     *
+     * @return the decimal digits without leading zeros, {@code "0"} for zero.
+     */
+    public String toDecimalString() {
+        String result = decimal;
+        if (result == null) {
+            decimal = result = toNumberList().toDecimalString();
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new Iterator<Byte>() {
+            private final Deque<Chunk> path = new ArrayDeque<>();
+            private Chunk chunk;
+            private int offset;
+
+            {
+                descend(root);
+                chunk = path.pollFirst();
+            }
+
+            private void descend(Chunk from) {
+                for (Chunk c = from; c != null; c = c.left) path.addFirst(c);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return chunk != null;
+            }
+
+            @Override
+            public Byte next() {
+                if (chunk == null) throw new NoSuchElementException();
+                byte digit = (byte) layout.get(chunk.words, offset);
+                if (++offset == chunk.count) {
+                    descend(chunk.right);
+                    chunk = path.pollFirst();
+                    offset = 0;
+                }
+                return digit;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super Byte> action) {
+        forEach(root, action);
+    }
+
+    private void forEach(Chunk chunk, Consumer<? super Byte> action) {
+        if (chunk == null) return;
+        forEach(chunk.left, action);
+        for (int i = 0; i < chunk.count; i++) {
+            action.accept((byte) layout.get(chunk.words, i));
+        }
+        forEach(chunk.right, action);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size());
+        forEach(digit -> sb.append(Character.toUpperCase(Character.forDigit(digit, layout.radix))));
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof ConcurrentNumberList) o = ((ConcurrentNumberList) o).snapshot();
+        // Equal digits of different radices are different numbers
+        if (o instanceof PersistentNumberList) {
+            PersistentNumberList that = (PersistentNumberList) o;
+            if (that.layout != layout) return false;
+            if (that.root == root) return true;
+        } else if (o instanceof NumberListImpl && ((NumberListImpl) o).getRadix() != getRadix()) {
+            return false;
+        }
+        return super.equals(o);
+    }
+
+    // --- NumberList mutators ---
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sortAscending() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sortDescending() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shiftLeft() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shiftRight() {
+        throw new UnsupportedOperationException();
+    }
+
+    // --- Tree operations ---
+
+    private static int size(Chunk chunk) {
+        return chunk == null ? 0 : chunk.size;
+    }
+
+    private static int height(Chunk chunk) {
+        return chunk == null ? 0 : chunk.height;
+    }
+
+    private Chunk set(Chunk chunk, int index, int digit) {
+        int left = size(chunk.left);
+        if (index < left) {
+            return new Chunk(set(chunk.left, index, digit), chunk.words, chunk.count, chunk.right);
+        }
+        index -= left;
+        if (index >= chunk.count) {
+            return new Chunk(chunk.left, chunk.words, chunk.count, set(chunk.right, index - chunk.count, digit));
+        }
+        long[] words = chunk.words.clone();
+        layout.set(words, index, digit);
+        return new Chunk(chunk.left, words, chunk.count, chunk.right);
+    }
+
+    /**
+     * Inserts a digit before the digit at {@code index}, or after it if
+     * {@code after} is set. A full chunk is split in half first.
+     */
+    private Chunk insert(Chunk chunk, int index, boolean after, int digit) {
+        int left = size(chunk.left);
+        if (index < left) {
+            return balance(insert(chunk.left, index, after, digit), chunk.words, chunk.count, chunk.right);
+        }
+        index -= left;
+        if (index >= chunk.count) {
+            return balance(chunk.left, chunk.words, chunk.count,
+                    insert(chunk.right, index - chunk.count, after, digit));
+        }
+        if (after) index++;
+
+        long[] words = new long[NumberListImpl.NODE_WORDS];
+        if (chunk.count < capacity) {
+            System.arraycopy(chunk.words, 0, words, 0, words.length);
+            layout.insert(words, chunk.count, index, digit);
+            return new Chunk(chunk.left, words, chunk.count + 1, chunk.right);
+        }
+
+        int half = chunk.count >>> 1;
+        long[] tail = new long[NumberListImpl.NODE_WORDS];
+        layout.copy(chunk.words, 0, words, 0, half);
+        layout.copy(chunk.words, half, tail, 0, chunk.count - half);
+        int headCount = half;
+        int tailCount = chunk.count - half;
+        if (index <= half) {
+            layout.insert(words, headCount++, index, digit);
+        } else {
+            layout.insert(tail, tailCount++, index - half, digit);
+        }
+        return balance(chunk.left, words, headCount, insertFirst(chunk.right, tail, tailCount));
+    }
+
+    private static Chunk insertFirst(Chunk chunk, long[] words, int count) {
+        if (chunk == null) return new Chunk(null, words, count, null);
+        return balance(insertFirst(chunk.left, words, count), chunk.words, chunk.count, chunk.right);
+    }
+
+    /**
+     * Removes a digit, dropping its chunk from the tree once it is empty.
+     */
+    private Chunk remove(Chunk chunk, int index) {
+        int left = size(chunk.left);
+        if (index < left) {
+            return balance(remove(chunk.left, index), chunk.words, chunk.count, chunk.right);
+        }
+        index -= left;
+        if (index >= chunk.count) {
+            return balance(chunk.left, chunk.words, chunk.count, remove(chunk.right, index - chunk.count));
+        }
+        if (chunk.count > 1) {
+            long[] words = chunk.words.clone();
+            layout.remove(words, chunk.count, index);
+            return new Chunk(chunk.left, words, chunk.count - 1, chunk.right);
+        }
+        if (chunk.left == null) return chunk.right;
+        if (chunk.right == null) return chunk.left;
+        Chunk first = chunk.right;
+        while (first.left != null) first = first.left;
+        return balance(chunk.left, first.words, first.count, removeFirst(chunk.right));
+    }
+
+    private static Chunk removeFirst(Chunk chunk) {
+        if (chunk.left == null) return chunk.right;
+        return balance(removeFirst(chunk.left), chunk.words, chunk.count, chunk.right);
+    }
+
+    /**
+     * Creates a node whose subtrees differ in height by at most two,
+     * rotating it back into AVL balance.
+     */
+    private static Chunk balance(Chunk left, long[] words, int count, Chunk right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                Chunk lr = left.right;
+                return new Chunk(new Chunk(left.left, left.words, left.count, lr.left), lr.words, lr.count,
+                        new Chunk(lr.right, words, count, right));
+            }
+            return new Chunk(left.left, left.words, left.count, new Chunk(left.right, words, count, right));
+        }
+        if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                Chunk rl = right.left;
+                return new Chunk(new Chunk(left, words, count, rl.left), rl.words, rl.count,
+                        new Chunk(rl.right, right.words, right.count, right.right));
+            }
+            return new Chunk(new Chunk(left, words, count, right.left), right.words, right.count, right.right);
+        }
+        return new Chunk(left, words, count, right);
+    }
+
+    private void checkDigit(int digit) {
+        if (digit < 0 || digit >= layout.radix) {
+            throw new IllegalArgumentException("Digit must be 0-" + (layout.radix - 1) + ". Got: " + digit);
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Divide-and-conquer conversion between {@code BigInteger} values and digit
+ * strings of an arbitrary radix.
+ * <p>
+ * Both directions split the number around a cached power
+ * {@code radix^(chunk * 2^i)}, where {@code chunk} is the number of digits
+ * that fit into a {@code long}. The work is dominated by a few big
+ * multiplications or divisions, which {@code BigInteger} performs with
+ * Karatsuba/Toom-Cook and Burnikel-Ziegler algorithms, so the conversion is
+ * subquadratic instead of the digit-by-digit quadratic loop.
+ *
+ * @author Alexander Podrubailo (Student ID: 3317)
+ */
+final class RadixConversion {
+
+    /** Size of the buffer used when writing digits into a channel. */
+    static final int OUTPUT_CHUNK = 64 * 1024;
+
+    /** Bit length below which a subtree of the conversion runs serially. */
+    static final int PARALLEL_BITS = 1 << 18;
+
+    /** Number of digits that always fit into a {@code long}, indexed by radix. */
+    private static final int[] CHUNK_DIGITS = new int[Character.MAX_RADIX + 1];
+
+    /**
+     * Cached powers {@code radix^(chunk * 2^i)}, indexed by radix. A table
+     * is never changed once published, only replaced by a longer one, so
+     * fork/join workers can read it without locking.
+     */
+    private static final AtomicReferenceArray<BigInteger[]> POWERS =
+            new AtomicReferenceArray<>(Character.MAX_RADIX + 1);
+
+    static {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+            long limit = Long.MAX_VALUE / radix;
+            for (long value = 1; value <= limit; value *= radix) {
+                CHUNK_DIGITS[radix]++;
+            }
+        }
+    }
+
+    private RadixConversion() {
+    }
+
+    /**
+     * Returns the number of digits of the given radix that always fit
+     * into a non-negative {@code long}.
+     */
+    static int chunkDigits(int radix) {
+        return CHUNK_DIGITS[radix];
+    }
+
+    /**
+     * Returns {@code radix^(chunkDigits(radix) * 2^i)}.
+     */
+    static BigInteger power(int radix, int i) {
+        BigInteger[] powers = POWERS.get(radix);
+        if (powers == null || i >= powers.length) {
+            synchronized (POWERS) {
+                powers = POWERS.get(radix);
+                if (powers == null) {
+                    powers = new BigInteger[] {BigInteger.valueOf(radix).pow(chunkDigits(radix))};
+                }
+                if (i >= powers.length) {
+                    BigInteger[] grown = new BigInteger[i + 1];
+                    System.arraycopy(powers, 0, grown, 0, powers.length);
+                    for (int k = powers.length; k <= i; k++) {
+                        grown[k] = grown[k - 1].multiply(grown[k - 1]);
+                    }
+                    powers = grown;
+                }
+                POWERS.set(radix, powers);
+            }
+        }
+        return powers[i];
+    }
+
+    /**
+     * Converts a non-negative value to its string representation.
+     *
+     * @param value the value to convert.
+     * @param radix the radix of the result.
+     * @return the digits of the value without leading zeros.
+     */
+    static String toString(BigInteger value, int radix) {
+        int maxDigits = (int) (value.bitLength() * Math.log(2) / Math.log(radix)) + 2;
+        DigitOutput out = new DigitOutput(ByteBuffer.allocate(maxDigits), null);
+        try {
+            write(value, radix, 0, out);
+        } catch (IOException e) {
+            // The buffer holds every digit, so nothing is written to a channel
+            throw new IllegalStateException(e);
+        }
+        return new String(out.buffer.array(), 0, out.buffer.position(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Converts a non-negative value to its string representation,
+     * converting the two halves of large subtrees in parallel.
+     * <p>
+     * Every subtree writes its digits right-aligned and zero-padded into
+     * its own slice of a shared array, so the halves need no ordering;
+     * the padding of the top level is stripped at the end. Values shorter
+     * than {@link #PARALLEL_BITS} bits are converted serially.
+     *
+     * @param value the value to convert.
+     * @param radix the radix of the result.
+     * @param pool  the pool which runs the parallel subtrees.
+     * @return the digits of the value without leading zeros.
+     */
+    static String toString(BigInteger value, int radix, ForkJoinPool pool) {
+        if (value.bitLength() < PARALLEL_BITS) {
+            return toString(value, radix);
+        }
+        int maxDigits = (int) (value.bitLength() * Math.log(2) / Math.log(radix)) + 2;
+        byte[] digits = new byte[maxDigits];
+        pool.invoke(new WriteTask(value, radix, digits, 0, maxDigits));
+        int from = 0;
+        while (from < maxDigits - 1 && digits[from] == '0') {
+            from++;
+        }
+        return new String(digits, from, maxDigits - from, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the ASCII digits of a non-negative value into a channel.
+     * <p>
+     * Digits are produced most significant first into a buffer of
+     * {@link #OUTPUT_CHUNK} bytes, which is drained whenever it fills up,
+     * so no string of the whole number is ever built.
+     *
+     * @param value   the value to convert.
+     * @param radix   the radix of the result.
+     * @param channel the destination of the digits.
+     * @throws IOException if the channel fails.
+     */
+    static void write(BigInteger value, int radix, WritableByteChannel channel) throws IOException {
+        DigitOutput out = new DigitOutput(ByteBuffer.allocate(OUTPUT_CHUNK), channel);
+        write(value, radix, 0, out);
+        out.drain();
+    }
+
+    /**
+     * Writes ASCII digits which are already converted into a channel,
+     * through a buffer of {@link #OUTPUT_CHUNK} bytes.
+     *
+     * @param digits  the digit characters.
+     * @param channel the destination of the digits.
+     * @throws IOException if the channel fails.
+     */
+    static void write(CharSequence digits, WritableByteChannel channel) throws IOException {
+        DigitOutput out = new DigitOutput(ByteBuffer.allocate(OUTPUT_CHUNK), channel);
+        for (int i = 0; i < digits.length(); i++) {
+            out.reserve(1);
+            out.buffer.put((byte) digits.charAt(i));
+        }
+        out.drain();
+    }
+
+    /**
+     * Writes the digits of a non-negative value, padded with leading
+     * zeros up to {@code width} digits.
+     */
+    private static void write(BigInteger value, int radix, int width, DigitOutput out) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeLeaf(value.longValue(), radix, width, out);
+            return;
+        }
+        int i = splitLevel(value.bitLength(), radix);
+        int lowDigits = chunkDigits(radix) << i;
+        BigInteger[] parts = value.divideAndRemainder(power(radix, i));
+        write(parts[0], radix, Math.max(width - lowDigits, 0), out);
+        write(parts[1], radix, lowDigits, out);
+    }
+
+    private static void writeLeaf(long value, int radix, int width, DigitOutput out) throws IOException {
+        int digits = 1;
+        for (long rest = value / radix; rest > 0; rest /= radix) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            out.reserve(1);
+            out.buffer.put((byte) '0');
+        }
+        out.reserve(digits);
+        ByteBuffer buffer = out.buffer;
+        int end = buffer.position() + digits;
+        for (int pos = end - 1; pos >= buffer.position(); pos--) {
+            buffer.put(pos, (byte) Character.forDigit((int) (value % radix), radix));
+            value /= radix;
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Parses digits {@code [from, to)} of a character sequence.
+     * The digits must be valid for the radix.
+     *
+     * @param digits the digit characters.
+     * @param from   the index of the most significant digit.
+     * @param to     the index after the least significant digit.
+     * @param radix  the radix of the digits.
+     * @return the parsed non-negative value.
+     */
+    static BigInteger parse(CharSequence digits, int from, int to, int radix) {
+        int chunk = chunkDigits(radix);
+        if (to - from <= chunk) {
+            long value = 0;
+            for (int k = from; k < to; k++) {
+                value = value * radix + Character.digit(digits.charAt(k), radix);
+            }
+            return BigInteger.valueOf(value);
+        }
+        int i = 0;
+        while ((chunk << (i + 1)) < to - from) {
+            i++;
+        }
+        int split = to - (chunk << i);
+        BigInteger high = parse(digits, from, split, radix);
+        BigInteger low = parse(digits, split, to, radix);
+        return high.multiply(power(radix, i)).add(low);
+    }
+
+    /**
+     * Chooses {@code i} so that {@code power(radix, i)} holds about half
+     * of the digits of a value with the given bit length.
+     */
+    private static int splitLevel(int bitLength, int radix) {
+        double digits = bitLength * Math.log(2) / Math.log(radix);
+        int i = 0;
+        while ((long) chunkDigits(radix) << (i + 1) <= digits / 2) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Writes the digits of a value into {@code [from, to)} of an array,
+     * padded with leading zeros. The slice must be wide enough.
+     */
+    private static final class WriteTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger value;
+        private final int radix;
+        private final byte[] digits;
+        private final int from;
+        private final int to;
+
+        WriteTask(BigInteger value, int radix, byte[] digits, int from, int to) {
+            this.value = value;
+            this.radix = radix;
+            this.digits = digits;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (value.bitLength() < PARALLEL_BITS) {
+                DigitOutput out = new DigitOutput(ByteBuffer.wrap(digits, from, to - from), null);
+                try {
+                    write(value, radix, to - from, out);
+                } catch (IOException e) {
+                    // The slice holds every digit, so nothing is written to a channel
+                    throw new IllegalStateException(e);
+                }
+                return;
+            }
+            int i = splitLevel(value.bitLength(), radix);
+            int split = to - (chunkDigits(radix) << i);
+            BigInteger[] parts = value.divideAndRemainder(power(radix, i));
+            invokeAll(new WriteTask(parts[0], radix, digits, from, split),
+                    new WriteTask(parts[1], radix, digits, split, to));
+        }
+    }
+
+    /**
+     * Byte buffer that is drained into a channel whenever it fills up.
+     * Without a channel the buffer must be large enough for all digits.
+     */
+    private static final class DigitOutput {
+        final ByteBuffer buffer;
+        private final WritableByteChannel channel;
+
+        DigitOutput(ByteBuffer buffer, WritableByteChannel channel) {
+            this.buffer = buffer;
+            this.channel = channel;
+        }
+
+        void reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes && channel != null) {
+                drain();
+            }
+        }
+
+        void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
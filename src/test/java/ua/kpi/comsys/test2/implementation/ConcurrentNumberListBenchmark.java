@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reader throughput under contention, for {@link ConcurrentNumberList}
+ * and a {@code Collections.synchronizedList} over {@link NumberListImpl}.
+ * <p>
+ * For every reader count from 1 up to twice the number of processors, the
+ * readers call {@code get} at random positions for a fixed time while one
+ * writer changes a digit every millisecond. Only {@code get} is measured.
+ * Not a unit test; run it with
+ * {@code java -cp out/main:out/test
+ * ua.kpi.comsys.test2.implementation.ConcurrentNumberListBenchmark [millis]}.
+ */
+public class ConcurrentNumberListBenchmark {
+    static int SIZE = 1 << 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        NumberListImpl digits = new NumberListImpl();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            digits.add((byte) random.nextInt(8));
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d processors, %d digits, %d ms per run%n", processors, SIZE, millis);
+        System.out.printf("%8s %20s %20s%n", "readers", "concurrent ops/s", "synchronized ops/s");
+        for (int readers = 1; readers <= 2 * processors; readers *= 2) {
+            long concurrent = run(new ConcurrentNumberList(digits), readers, millis);
+            List<Byte> copy = new NumberListImpl();
+            copy.addAll(digits);
+            long synchronizedList = run(Collections.synchronizedList(copy), readers, millis);
+            System.out.printf("%8d %20d %20d%n", readers, concurrent, synchronizedList);
+        }
+    }
+
+    private static long run(List<Byte> list, int readers, long millis) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            int seed = r;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                int sink = 0;
+                long count = 0;
+                await(start);
+                while (running.get()) {
+                    sink += list.get(random.nextInt(SIZE));
+                    count++;
+                }
+                reads.add(count + (sink == Integer.MIN_VALUE ? 1 : 0));
+            }));
+        }
+        threads.add(new Thread(() -> {
+            Random random = new Random(-1);
+            await(start);
+            while (running.get()) {
+                list.set(random.nextInt(SIZE), (byte) random.nextInt(8));
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }));
+
+        for (Thread t : threads) t.start();
+        start.countDown();
+        TimeUnit.MILLISECONDS.sleep(millis);
+        running.set(false);
+        for (Thread t : threads) t.join();
+        return reads.sum() * 1000 / millis;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentNumberListTest {
+    static int SIZE = 5000;
+
+    @Test
+    public void testSequentialOperations() {
+        ConcurrentNumberList list = new ConcurrentNumberList();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            int index = random.nextInt(expected.size() + 1);
+            list.add(index, digit);
+            expected.add(index, digit);
+            if (i % 7 == 0) {
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            if (i % 11 == 0 && !expected.isEmpty()) {
+                int other = random.nextInt(expected.size());
+                index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, digit), list.set(index, digit));
+                list.swap(index, other);
+                Collections.swap(expected, index, other);
+                assertEquals(expected.remove((Byte) digit), list.remove((Byte) digit));
+                list.add(digit);
+                expected.add(digit);
+            }
+        }
+        assertEquals(expected, new ArrayList<>(list));
+        NumberListImpl oct = new NumberListImpl();
+        NumberListImpl dec = new NumberListImpl(10);
+        oct.addAll(expected);
+        dec.addAll(expected);
+        assertEquals(oct, list);
+        assertEquals(list, oct);
+        assertNotEquals(dec, list);
+        assertNotEquals(list, dec);
+        assertNotEquals(list, new ConcurrentNumberList(dec));
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertEquals(list, new ConcurrentNumberList(list.snapshot().toNumberList()));
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.indexOf((byte) 5), list.indexOf((byte) 5));
+        assertEquals(expected.lastIndexOf((byte) 5), list.lastIndexOf((byte) 5));
+
+        list.addAll(list);
+        expected.addAll(new ArrayList<>(expected));
+        assertEquals(expected, new ArrayList<>(list));
+    }
+
+    @Test
+    public void testDecimalString() {
+        ConcurrentNumberList list = new ConcurrentNumberList(new NumberListImpl("12345678901234567890"));
+        assertEquals("12345678901234567890", list.toDecimalString());
+        assertEquals("12345678901234567890", list.toDecimalString());
+
+        NumberListImpl expected = new NumberListImpl("12345678901234567890");
+        expected.set(0, (byte) 0);
+        list.set(0, (byte) 0);
+        assertEquals(expected.toDecimalString(), list.toDecimalString());
+    }
+
+    @Test
+    public void testKeepsItsRadix() {
+        NumberListImpl dec = new NumberListImpl(10);
+        dec.add((byte) 1);
+        dec.add((byte) 9);
+        NumberListImpl zero = new NumberListImpl();
+        zero.add((byte) 0);
+
+        // Decimal 19 is octal 23
+        ConcurrentNumberList list = new ConcurrentNumberList(dec);
+        assertEquals("23", NumberArithmetic.add(list, zero).toString());
+        assertEquals("23", zero.additionalOperation(list).toString());
+        assertEquals("19", dec.additionalOperation(list).toString());
+    }
+
+    @Test
+    public void testConcurrentReadersAndWriters() throws Exception {
+        ConcurrentNumberList list = new ConcurrentNumberList();
+        int writers = 2;
+        int readers = 4;
+        int adds = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int seed = w;
+                writes.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < adds; i++) {
+                        list.add(random.nextInt(list.size() + 1), (byte) 7);
+                        if (i % 10 == 0) list.shiftLeft();
+                    }
+                }));
+            }
+            List<Future<?>> reads = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                reads.add(executor.submit(() -> {
+                    while (!writes.stream().allMatch(Future::isDone)) {
+                        PersistentNumberList snapshot = list.snapshot();
+                        int count = 0;
+                        for (Iterator<Byte> it = list.iterator(); it.hasNext() && count < 100; count++) {
+                            assertEquals(7, it.next().intValue());
+                        }
+                        int seen = 0;
+                        for (Byte digit : snapshot) {
+                            assertEquals(7, digit.intValue());
+                            seen++;
+                        }
+                        assertEquals(snapshot.size(), seen);
+                        int size = list.size();
+                        if (size > 0) assertEquals(7, list.get(size / 2).intValue());
+                    }
+                }));
+            }
+            for (Future<?> f : writes) f.get();
+            for (Future<?> f : reads) f.get();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(writers * adds, list.size());
+        assertEquals(writers * adds, list.snapshot().size());
+    }
+}
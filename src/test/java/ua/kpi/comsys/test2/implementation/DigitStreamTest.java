@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DigitStreamTest {
+    static int SIZE = 100000;
+
+    NumberListImpl list;
+    List<Byte> expected;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+        expected = null;
+    }
+
+    private void fill() {
+        list = new NumberListImpl();
+        expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            list.add(i / 2, digit);
+            expected.add(i / 2, digit);
+        }
+    }
+
+    @Test
+    public void testParallelStreams() {
+        fill();
+        assertEquals("Wrong sequential stream", expected, list.stream().collect(Collectors.toList()));
+        assertEquals("Wrong parallel stream", expected, list.parallelStream().collect(Collectors.toList()));
+
+        long sum = 0;
+        long[] histogram = new long[8];
+        for (Byte digit : expected) {
+            sum += digit;
+            histogram[digit]++;
+        }
+        assertEquals("Wrong digit sum", sum, list.digits().parallel().asLongStream().sum());
+
+        long[] actual = new long[8];
+        for (int digit = 0; digit < 8; digit++) {
+            int d = digit;
+            actual[digit] = list.digits().parallel().filter(x -> x == d).count();
+        }
+        assertArrayEquals("Wrong histogram", histogram, actual);
+    }
+
+    @Test
+    public void testSplit() {
+        fill();
+        Spliterator<Byte> right = list.spliterator();
+        assertTrue("Spliterator should be SUBSIZED", right.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<Byte> left = right.trySplit();
+        Spliterator<Byte> middle = right.trySplit();
+        assertEquals("Wrong split sizes", SIZE, left.estimateSize() + middle.estimateSize() + right.estimateSize());
+
+        List<Byte> actual = new ArrayList<>();
+        left.forEachRemaining(actual::add);
+        while (middle.tryAdvance(actual::add)) {
+            // Digits are collected by tryAdvance
+        }
+        right.forEachRemaining(actual::add);
+        assertEquals("Wrong digits after split", expected, actual);
+    }
+
+    @Test
+    public void testLateBinding() {
+        fill();
+        Stream<Byte> cleared = list.stream();
+        IntStream clearedDigits = list.digits();
+        list.clear();
+        assertEquals("Stream of a cleared list", 0, cleared.count());
+        assertEquals("Digits of a cleared list", 0, clearedDigits.sum());
+
+        fill();
+        Stream<Byte> stream = list.stream();
+        IntStream digits = list.digits().parallel();
+        list.add((byte) 7);
+        expected.add((byte) 7);
+        list.remove(0);
+        expected.remove(0);
+        assertEquals("Wrong stream after changes", expected, stream.collect(Collectors.toList()));
+        assertEquals("Wrong digits after changes",
+                expected.stream().mapToInt(Byte::intValue).sum(), digits.sum());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testChangedAfterBinding() {
+        fill();
+        Spliterator<Byte> spliterator = list.spliterator();
+        spliterator.estimateSize();
+        list.add((byte) 7);
+        spliterator.forEachRemaining(digit -> { });
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FileLoadTest {
+
+    File f;
+
+    @Before
+    public void setUp() throws IOException {
+        f = File.createTempFile("number", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        f.delete();
+        f = null;
+    }
+
+    private void write(String content) throws IOException {
+        try (Writer writer = new FileWriter(f)) {
+            writer.write(content);
+        }
+    }
+
+    @Test
+    public void testLoadFirstLine() throws IOException {
+        write("1212144468782345613\r\n42\n");
+
+        NumberListImpl list = NumberListImpl.load(f);
+        assertEquals("Incorrect list loading", "103223157433616366615", list.toString());
+    }
+
+    @Test
+    public void testLoadEmptyFile() throws IOException {
+        write("");
+
+        assertTrue("Empty file should give empty list", NumberListImpl.load(f).isEmpty());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testLoadMalformedFile() throws IOException {
+        write("12a4");
+
+        NumberListImpl.load(f);
+    }
+
+    @Test
+    public void testConstructorIgnoresMalformedFile() throws IOException {
+        write("12a4");
+
+        assertTrue("Malformed file should give empty list", new NumberListImpl(f).isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadMissingFile() throws IOException {
+        NumberListImpl.load(new File(f.getPath() + ".missing"));
+    }
+
+    @Test
+    public void testSaveLongListInChunks() throws IOException {
+        String value = new BigInteger(600000, new Random(3317)).toString();
+        NumberListImpl list = new NumberListImpl(value);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        list.saveList(out);
+        assertEquals("Incorrect write to stream", value, out.toString("US-ASCII"));
+
+        list.saveList(f);
+        assertEquals("Lists are not equal after save/restore operation", list, NumberListImpl.load(f));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListIteratorTest {
+    static int SIZE = 5000;
+
+    NumberListImpl list;
+    List<Byte> expected;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+        expected = null;
+    }
+
+    private void fill() {
+        list = new NumberListImpl();
+        expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            list.add(digit);
+            expected.add(digit);
+        }
+    }
+
+    @Test
+    public void testEditsThroughIterator() {
+        fill();
+        Random random = new Random(3317);
+        ListIterator<Byte> actualIt = list.listIterator(SIZE / 2);
+        ListIterator<Byte> expectedIt = expected.listIterator(SIZE / 2);
+
+        for (int step = 0; step < 10 * SIZE; step++) {
+            byte digit = (byte) random.nextInt(8);
+            switch (random.nextInt(5)) {
+                case 0:
+                    if (expectedIt.hasNext()) {
+                        assertEquals("Wrong next value", expectedIt.next(), actualIt.next());
+                    }
+                    break;
+                case 1:
+                    if (expectedIt.hasPrevious()) {
+                        assertEquals("Wrong previous value", expectedIt.previous(), actualIt.previous());
+                    }
+                    break;
+                case 2:
+                    expectedIt.add(digit);
+                    actualIt.add(digit);
+                    break;
+                default:
+                    if (expectedIt.hasNext()) {
+                        assertEquals("Wrong next value", expectedIt.next(), actualIt.next());
+                        if (random.nextBoolean()) {
+                            expectedIt.set(digit);
+                            actualIt.set(digit);
+                        } else {
+                            expectedIt.remove();
+                            actualIt.remove();
+                        }
+                    }
+            }
+            assertEquals("Wrong index", expectedIt.nextIndex(), actualIt.nextIndex());
+        }
+        assertEquals("Wrong list after edits", expected, new ArrayList<>(list));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testFailFast() {
+        fill();
+        Iterator<Byte> it = list.iterator();
+        it.next();
+        list.add((byte) 1);
+        it.next();
+    }
+
+    @Test
+    public void testSnapshotIterator() {
+        fill();
+        Iterator<Byte> it = list.snapshotIterator();
+        List<Byte> actual = new ArrayList<>();
+        for (int i = 0; it.hasNext(); i++) {
+            actual.add(it.next());
+            if (i % 1000 == 0) {
+                list.add(0, (byte) 7);
+                list.remove(list.size() / 2);
+                list.set(list.size() - 1, (byte) 0);
+                list.shiftLeft();
+                list.sortDescending();
+            }
+        }
+        assertEquals("Wrong snapshot", expected, actual);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveWithoutNext() {
+        fill();
+        list.listIterator().remove();
+    }
+
+    @Test
+    public void testSubList() {
+        fill();
+        List<Byte> actualView = list.subList(1000, 3000);
+        List<Byte> expectedView = expected.subList(1000, 3000);
+        assertEquals("Wrong view", expectedView, actualView);
+
+        actualView.subList(100, 500).clear();
+        expectedView.subList(100, 500).clear();
+        actualView.add(0, (byte) 7);
+        expectedView.add(0, (byte) 7);
+        actualView.set(5, (byte) 3);
+        expectedView.set(5, (byte) 3);
+        actualView.remove(actualView.size() - 1);
+        expectedView.remove(expectedView.size() - 1);
+
+        assertEquals("Wrong view size", expectedView.size(), actualView.size());
+        assertEquals("Wrong view after edits", expectedView, actualView);
+        assertEquals("Wrong list after edits", expected, new ArrayList<>(list));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListFailFast() {
+        fill();
+        List<Byte> view = list.subList(10, 20);
+        list.remove(0);
+        view.get(0);
+    }
+}
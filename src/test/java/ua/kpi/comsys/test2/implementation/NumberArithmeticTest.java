@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumberArithmeticTest {
+
+    @Test
+    public void testSmallNumbers() {
+        NumberListImpl a = new NumberListImpl("15");
+        NumberListImpl b = new NumberListImpl("2");
+
+        assertEquals(new NumberListImpl("17"), NumberArithmetic.add(a, b));
+        assertEquals(new NumberListImpl("13"), NumberArithmetic.subtract(a, b));
+        assertEquals(new NumberListImpl("30"), NumberArithmetic.multiply(a, b));
+        assertEquals(new NumberListImpl("7"), NumberArithmetic.divide(a, b));
+        assertEquals(new NumberListImpl("1"), NumberArithmetic.mod(a, b));
+        assertEquals(new NumberListImpl("2"), NumberArithmetic.and(a, b));
+        assertEquals(new NumberListImpl("15"), NumberArithmetic.or(a, b));
+        assertEquals(new NumberListImpl("0"), NumberArithmetic.subtract(a, a));
+        assertEquals(new NumberListImpl("15"), NumberArithmetic.add(a, new NumberListImpl()));
+    }
+
+    @Test
+    public void testLargeNumbers() {
+        Random random = new Random(3317);
+        for (int i = 0; i < 20; i++) {
+            BigInteger x = new BigInteger(random.nextInt(60000) + 1, random);
+            BigInteger y = new BigInteger(random.nextInt(30000) + 1, random).add(BigInteger.ONE);
+            NumberListImpl a = new NumberListImpl(x.toString());
+            NumberListImpl b = new NumberListImpl(y.toString());
+            String before = a.toString() + " " + b.toString();
+
+            assertEquals("Invalid result of add()", x.add(y).toString(8),
+                    NumberArithmetic.add(a, b).toString());
+            assertEquals("Invalid result of multiply()", x.multiply(y).toString(8),
+                    NumberArithmetic.multiply(a, b).toString());
+            assertEquals("Invalid result of divide()", x.divide(y).toString(8),
+                    NumberArithmetic.divide(a, b).toString());
+            assertEquals("Invalid result of mod()", x.mod(y).toString(8),
+                    NumberArithmetic.mod(a, b).toString());
+            assertEquals("Invalid result of and()", x.and(y).toString(8),
+                    NumberArithmetic.and(a, b).toString());
+            assertEquals("Invalid result of or()", x.or(y).toString(8),
+                    NumberArithmetic.or(a, b).toString());
+            if (x.compareTo(y) >= 0) {
+                assertEquals("Invalid result of subtract()", x.subtract(y).toString(8),
+                        NumberArithmetic.subtract(a, b).toString());
+            }
+            assertEquals("Operand was changed", before, a.toString() + " " + b.toString());
+        }
+    }
+
+    @Test
+    public void testDecimalOperand() {
+        NumberListImpl a = new NumberListImpl("1234");
+        assertEquals(new NumberListImpl("2468"), NumberArithmetic.add(a, a.changeScale()));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNegativeResult() {
+        NumberArithmetic.subtract(new NumberListImpl("2"), new NumberListImpl("15"));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivisionByZero() {
+        NumberArithmetic.divide(new NumberListImpl("15"), new NumberListImpl("0"));
+    }
+}
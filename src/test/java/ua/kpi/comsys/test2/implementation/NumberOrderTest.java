@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class NumberOrderTest {
+
+    @Test
+    public void testCompareTo() {
+        Random random = new Random(3317);
+        List<BigInteger> values = new ArrayList<>();
+        List<NumberListImpl> lists = new ArrayList<>();
+        BigInteger base = new BigInteger(5000, random);
+        for (int i = 0; i < 200; i++) {
+            BigInteger value = random.nextBoolean()
+                    ? base.flipBit(random.nextInt(5000))
+                    : new BigInteger(random.nextInt(5000) + 1, random);
+            NumberListImpl list = new NumberListImpl();
+            for (int zeros = random.nextInt(3); zeros > 0; zeros--) {
+                list.add((byte) 0);
+            }
+            list.addAll(new NumberListImpl(value.toString()));
+            values.add(value);
+            lists.add(list);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            for (int j = 0; j < values.size(); j += 7) {
+                assertEquals("Wrong result of compareTo()",
+                        Integer.signum(values.get(i).compareTo(values.get(j))),
+                        Integer.signum(lists.get(i).compareTo(lists.get(j))));
+            }
+        }
+
+        Collections.sort(values);
+        Collections.sort(lists);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals("Wrong order", values.get(i).toString(8),
+                    lists.get(i).toString().replaceFirst("^0+(?=.)", ""));
+        }
+    }
+
+    @Test
+    public void testCompareToDecimal() {
+        NumberListImpl a = new NumberListImpl("1234");
+        assertEquals(0, a.compareTo(a.changeScale()));
+        assertEquals(1, Integer.signum(a.compareTo(new NumberListImpl("1233").changeScale())));
+        assertEquals(0, new NumberListImpl().compareTo(new NumberListImpl("0")));
+    }
+
+    @Test
+    public void testEqualsAcrossRadices() {
+        NumberListImpl oct = new NumberListImpl();
+        oct.add((byte) 1);
+        oct.add((byte) 7);
+        NumberListImpl dec = new NumberListImpl(10);
+        dec.add((byte) 1);
+        dec.add((byte) 7);
+
+        // Same digits, different numbers
+        assertNotEquals(oct, dec);
+        assertEquals(-1, Integer.signum(oct.compareTo(dec)));
+
+        // Same number, different digits
+        NumberListImpl dec15 = oct.changeScale();
+        assertNotEquals(oct, dec15);
+        assertEquals(0, oct.compareTo(dec15));
+        assertEquals(2, new HashSet<>(Arrays.asList(oct, dec15)).size());
+        assertEquals(1, new TreeSet<>(Arrays.asList(oct, dec15)).size());
+        assertNotEquals(new NumberListImpl(), new NumberListImpl(10));
+    }
+
+    @Test
+    public void testEqualsAcrossNodes() {
+        NumberListImpl a = new NumberListImpl();
+        NumberListImpl b = new NumberListImpl();
+        for (int i = 0; i < 5000; i++) {
+            a.add((byte) (i % 8));
+            b.add(i / 2, (byte) 0);
+        }
+        for (int i = 0; i < 5000; i++) {
+            b.set(i, (byte) (i % 8));
+        }
+        assertEquals(a, b);
+        b.set(4321, (byte) 0);
+        assertNotEquals(a, b);
+    }
+}
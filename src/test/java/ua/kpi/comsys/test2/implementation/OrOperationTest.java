@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assume.assumeTrue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OrOperationTest {
+
+    @Before
+    public void setUp() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 7  == 6);
+    }
+
+    @Test
+    public void testORLarge() {
+        Random random = new Random(3317);
+        for (int i = 0; i < 20; i++) {
+            BigInteger a = new BigInteger(random.nextInt(20000) + 1, random);
+            BigInteger b = new BigInteger(random.nextInt(20000) + 1, random);
+            NumberListImpl list1 = new NumberListImpl(a.toString());
+            NumberListImpl list2 = new NumberListImpl(b.toString());
+            String before1 = list1.toString();
+            String before2 = list2.toString();
+
+            NumberListImpl result = list1.additionalOperation(list2);
+
+            assertEquals("Additional operation implemented in a wrong way",
+                    a.or(b).toString(8), result.toString());
+            assertEquals("Operand was changed", before1, list1.toString());
+            assertEquals("Operand was changed", before2, list2.toString());
+        }
+    }
+
+    @Test
+    public void testOREmpty() {
+        NumberListImpl list1 = new NumberListImpl();
+        NumberListImpl list2 = new NumberListImpl("15");
+
+        assertTrue("Result should be empty", list1.additionalOperation(list1).isEmpty());
+        assertEquals("Additional operation implemented in a wrong way",
+                list2, list1.additionalOperation(list2));
+        assertEquals("Additional operation implemented in a wrong way",
+                list2, list2.additionalOperation(list1));
+    }
+
+    @Test
+    public void testORParallel() {
+        Random random = new Random(3317);
+        NumberListImpl list1 = new NumberListImpl();
+        NumberListImpl list2 = new NumberListImpl();
+        StringBuilder expected = new StringBuilder();
+        int length = NumberListImpl.PARALLEL_DIGITS + 12345;
+        int shift = 54321;
+        for (int i = 0; i < length; i++) {
+            int digit1 = random.nextInt(8);
+            int digit2 = random.nextInt(8);
+            list1.add((byte) digit1);
+            if (i >= shift) {
+                list2.add((byte) digit2);
+                digit1 |= digit2;
+            }
+            expected.append(digit1);
+        }
+        // Split nodes so that the operands are not aligned with the result
+        for (int i = 0; i < 100; i++) {
+            int index = random.nextInt(length);
+            list1.add(index, list1.get(index));
+            list1.remove(index + 1);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            NumberListImpl result = list1.additionalOperation(list2, pool);
+            assertEquals("Additional operation implemented in a wrong way", expected.toString(), result.toString());
+            assertEquals("Additional operation implemented in a wrong way", result, list2.additionalOperation(list1, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testORInOtherRadix() {
+        NumberListImpl hex = new NumberListImpl(16);
+        hex.add((byte) 12);
+        hex.add((byte) 5);
+        NumberListImpl other = new NumberListImpl(16);
+        other.add((byte) 3);
+
+        assertEquals("C7", hex.additionalOperation(other).toString());
+        assertEquals("11000111", hex.changeScale(2).additionalOperation(other.changeScale(2)).toString());
+        assertEquals("21101", hex.changeScale(3).additionalOperation(other).toString());
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackedStorageTest {
+    static int SIZE = 5000;
+
+    NumberListImpl list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        list = new NumberListImpl();
+        for (int i = 0; i < SIZE; i++) {
+            list.add((byte) (i % 8));
+        }
+
+        assertEquals("Wrong size", SIZE, list.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals("Wrong value at " + i, Byte.valueOf((byte) (i % 8)), list.get(i));
+        }
+    }
+
+    @Test
+    public void testInsertAndRemoveInTheMiddle() {
+        list = new NumberListImpl();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i / 2, (byte) (i % 8));
+            expected.insert(i / 2, i % 8);
+        }
+        assertEquals("Wrong list after inserts", expected.toString(), list.toString());
+
+        for (int i = 0; i < SIZE / 2; i++) {
+            assertEquals("Wrong removed value",
+                    Byte.valueOf((byte) (expected.charAt(i) - '0')), list.remove(i));
+            expected.deleteCharAt(i);
+        }
+        assertEquals("Wrong list after removes", expected.toString(), list.toString());
+    }
+
+    @Test
+    public void testShiftAcrossNodes() {
+        list = new NumberListImpl();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            list.add((byte) (i % 7));
+            expected.append(i % 7);
+        }
+
+        for (int i = 0; i < SIZE / 3; i++) {
+            list.shiftLeft();
+        }
+        String rotated = expected.substring(SIZE / 3) + expected.substring(0, SIZE / 3);
+        assertEquals("Wrong result of shiftLeft()", rotated, list.toString());
+
+        for (int i = 0; i < SIZE / 3; i++) {
+            list.shiftRight();
+        }
+        assertEquals("Wrong result of shiftRight()", expected.toString(), list.toString());
+    }
+
+    @Test
+    public void testPositionalAccess() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            list.add(digit);
+            expected.add(digit);
+        }
+
+        for (int step = 0; step < 20 * SIZE; step++) {
+            int index = random.nextInt(expected.size());
+            byte digit = (byte) random.nextInt(8);
+            switch (random.nextInt(7)) {
+                case 0:
+                    list.add(index, digit);
+                    expected.add(index, digit);
+                    break;
+                case 1:
+                    assertEquals("Wrong removed value", expected.remove(index), list.remove(index));
+                    break;
+                case 2:
+                    assertEquals("Wrong replaced value", expected.set(index, digit), list.set(index, digit));
+                    break;
+                case 3:
+                    int other = random.nextInt(expected.size());
+                    list.swap(index, other);
+                    expected.set(index, expected.set(other, expected.get(index)));
+                    break;
+                case 4:
+                    list.shiftLeft();
+                    expected.add(expected.remove(0));
+                    break;
+                case 5:
+                    list.shiftRight();
+                    expected.add(0, expected.remove(expected.size() - 1));
+                    break;
+                default:
+                    assertEquals("Wrong value at " + index, expected.get(index), list.get(index));
+            }
+        }
+        assertEquals("Wrong size", expected.size(), list.size());
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals("Wrong value at " + i, expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testShiftByDistance() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            list.add(digit);
+            expected.add(digit);
+        }
+
+        for (int step = 0; step < 1000; step++) {
+            int distance = random.nextInt(3 * SIZE) - SIZE;
+            if (random.nextBoolean()) {
+                list.shiftLeft(distance);
+                Collections.rotate(expected, -distance);
+            } else {
+                list.shiftRight(distance);
+                Collections.rotate(expected, distance);
+            }
+            int index = random.nextInt(SIZE);
+            assertEquals("Wrong value at " + index, expected.get(index), list.get(index));
+        }
+        assertEquals("Wrong result of shifts", expected.toString(), toList(list).toString());
+    }
+
+    @Test
+    public void testAddAll() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int step = 0; step < 200; step++) {
+            List<Byte> digits = new ArrayList<>();
+            NumberListImpl other = new NumberListImpl();
+            for (int i = random.nextInt(2000); i > 0; i--) {
+                byte digit = (byte) random.nextInt(8);
+                digits.add(digit);
+                other.add(digit);
+            }
+            int index = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    list.addAll(index, other);
+                    break;
+                case 1:
+                    list.addAll(index, digits);
+                    break;
+                default:
+                    list.addAll(index, list);
+                    digits = new ArrayList<>(expected);
+            }
+            expected.addAll(index, digits);
+            if (expected.size() > 20 * SIZE) {
+                list.clear();
+                expected.clear();
+            }
+        }
+        assertEquals("Wrong result of addAll()", expected.toString(), toList(list).toString());
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals("Wrong value at " + i, expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAllInvalidDigit() {
+        list = new NumberListImpl("15");
+        try {
+            list.addAll(1, Arrays.asList((byte) 1, (byte) 8));
+        } catch (IllegalArgumentException e) {
+            assertEquals("List was changed", "17", list.toString());
+            return;
+        }
+        throw new AssertionError("Invalid digit was accepted");
+    }
+
+    @Test
+    public void testPrimitiveAccess() {
+        list = new NumberListImpl();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i / 2, (byte) (i % 8));
+        }
+        List<Byte> expected = toList(list);
+
+        StringBuilder digits = new StringBuilder();
+        list.forEachDigit(digits::append);
+        assertEquals("Wrong result of forEachDigit()", list.toString(), digits.toString());
+
+        NumberListImpl.DigitCursor cursor = list.digitCursor();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals("Wrong cursor digit at " + i, (int) expected.get(i), cursor.nextDigit());
+                assertEquals("Wrong result of getDigit()", (byte) expected.get(i), list.getDigit(i));
+            }
+            assertEquals("Cursor should be exhausted", false, cursor.hasNext());
+            cursor.reset();
+        }
+        assertEquals("Wrong hashCode()", expected.hashCode(), list.hashCode());
+        assertEquals("Wrong result of toArray()", expected, Arrays.asList(list.toArray(new Byte[0])));
+    }
+
+    @Test
+    public void testDigitCountsAndHashCode() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int step = 0; step < 5 * SIZE; step++) {
+            byte digit = (byte) random.nextInt(4);
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, digit);
+                expected.add(index, digit);
+            } else if (random.nextBoolean()) {
+                int index = random.nextInt(expected.size());
+                list.set(index, digit);
+                expected.set(index, digit);
+            } else {
+                assertEquals("Wrong result of remove()", expected.remove((Byte) digit), list.remove((Byte) digit));
+            }
+            if (step % 100 == 0) {
+                for (byte d = 0; d < 8; d++) {
+                    assertEquals("Wrong result of contains()", expected.contains(d), list.contains(d));
+                    assertEquals("Wrong result of indexOf()", expected.indexOf(d), list.indexOf(d));
+                }
+                assertEquals("Wrong hashCode()", expected.hashCode(), list.hashCode());
+            }
+        }
+        list.addAll(0, list);
+        expected.addAll(0, new ArrayList<>(expected));
+        list.sortDescending();
+        expected.sort(Collections.reverseOrder());
+        assertEquals("Wrong hashCode()", expected.hashCode(), list.hashCode());
+        assertEquals("Wrong result of sortDescending()", expected.toString(), toList(list).toString());
+        assertEquals("Wrong result of contains()", false, list.contains((byte) 9));
+    }
+
+    @Test
+    public void testSort() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(7);
+            list.add(i / 2, digit);
+            expected.add(i / 2, digit);
+        }
+
+        list.sortAscending();
+        Collections.sort(expected);
+        assertEquals("Wrong result of sortAscending()", expected.toString(), toList(list).toString());
+
+        list.sortDescending();
+        Collections.reverse(expected);
+        assertEquals("Wrong result of sortDescending()", expected.toString(), toList(list).toString());
+    }
+
+    @Test
+    public void testRemoveAllAndRetainAll() {
+        Random random = new Random(3317);
+        for (int step = 0; step < 50; step++) {
+            list = new NumberListImpl();
+            List<Byte> expected = new ArrayList<>();
+            for (int i = random.nextInt(5 * SIZE); i > 0; i--) {
+                byte digit = (byte) random.nextInt(8);
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, digit);
+                expected.add(index, digit);
+            }
+            PersistentNumberList snapshot = list.snapshot();
+            List<Byte> before = new ArrayList<>(expected);
+
+            List<Byte> digits = new ArrayList<>();
+            NumberListImpl other = new NumberListImpl();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                byte digit = (byte) random.nextInt(8);
+                digits.add(digit);
+                other.add(digit);
+            }
+            boolean retain = random.nextBoolean();
+            Collection<Byte> arg = random.nextBoolean() ? other : digits;
+            boolean changed = retain ? expected.retainAll(digits) : expected.removeAll(digits);
+
+            assertEquals("Wrong result flag", changed, retain ? list.retainAll(arg) : list.removeAll(arg));
+            assertEquals("Wrong result of bulk removal", expected.toString(), toList(list).toString());
+            assertEquals("Wrong size", expected.size(), list.size());
+            for (byte d = 0; d < 8; d++) {
+                assertEquals("Wrong indexOf(" + d + ")", expected.indexOf(d), list.indexOf(d));
+            }
+            list.add((byte) 1);
+            expected.add((byte) 1);
+            assertEquals("Wrong list after append", expected.toString(), toList(list).toString());
+            assertEquals("Snapshot changed", before, snapshot);
+        }
+    }
+
+    @Test
+    public void testIndexOfAndLastIndexOf() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < 3 * SIZE; i++) {
+            // Rare digits sit far from both ends
+            byte digit = (byte) (random.nextInt(100) == 0 ? random.nextInt(8) : random.nextInt(3));
+            list.add(digit);
+            expected.add(digit);
+        }
+        for (int step = 0; step < 300; step++) {
+            int index = random.nextInt(expected.size());
+            byte digit = (byte) random.nextInt(8);
+            switch (random.nextInt(5)) {
+                case 0:
+                    list.set(index, digit);
+                    expected.set(index, digit);
+                    break;
+                case 1:
+                    list.add(index, digit);
+                    expected.add(index, digit);
+                    break;
+                case 2:
+                    list.remove(index);
+                    expected.remove(index);
+                    break;
+                case 3:
+                    list.shiftLeft(index);
+                    Collections.rotate(expected, -index);
+                    break;
+                default:
+                    list.shiftRight(index);
+                    Collections.rotate(expected, index);
+            }
+            for (byte d = 0; d < 8; d++) {
+                assertEquals("Wrong indexOf(" + d + ")", expected.indexOf(d), list.indexOf(d));
+                assertEquals("Wrong lastIndexOf(" + d + ")", expected.lastIndexOf(d), list.lastIndexOf(d));
+            }
+        }
+        assertEquals(-1, list.lastIndexOf((byte) 8));
+        assertEquals(-1, list.lastIndexOf(3));
+        list.clear();
+        assertEquals(-1, list.lastIndexOf((byte) 0));
+    }
+
+    @Test
+    public void testUnderfullNodesAreMerged() {
+        list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+        Random random = new Random(3317);
+        for (int i = 0; i < 20 * SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            int index = random.nextInt(expected.size() + 1);
+            list.add(index, digit);
+            expected.add(index, digit);
+        }
+        while (expected.size() > SIZE) {
+            int index = random.nextInt(expected.size());
+            assertEquals(expected.remove(index), list.remove(index));
+        }
+        assertEquals("Wrong list after removals", expected.toString(), toList(list).toString());
+        // Without merging, about 150 sparse nodes would be left; 672 octal digits per node
+        int capacity = 672;
+        assertTrue("Too many nodes: " + list.nodeCount(), list.nodeCount() <= 2 * SIZE / (capacity / 4) + 2);
+    }
+
+    private static List<Byte> toList(NumberListImpl list) {
+        List<Byte> digits = new ArrayList<>();
+        for (Byte digit : list) {
+            digits.add(digit);
+        }
+        return digits;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDigit() {
+        list = new NumberListImpl();
+        list.add((byte) 8);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class PersistentNumberListTest {
+    static int SIZE = 5000;
+
+    private static NumberListImpl randomList(Random random, List<Byte> expected) {
+        NumberListImpl list = new NumberListImpl();
+        for (int i = 0; i < SIZE; i++) {
+            byte digit = (byte) random.nextInt(8);
+            list.add(digit);
+            expected.add(digit);
+        }
+        return list;
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        Random random = new Random(3317);
+        List<Byte> expected = new ArrayList<>();
+        NumberListImpl list = randomList(random, expected);
+
+        PersistentNumberList snapshot = list.snapshot();
+        assertSame(snapshot, list.snapshot());
+
+        list.set(0, (byte) ((list.get(0) + 1) % 8));
+        list.add(1000, (byte) 7);
+        list.remove(4000);
+        list.sortAscending();
+        list.shiftLeft(123);
+        list.addAll(list.subList(0, 10));
+
+        assertEquals(expected, snapshot);
+        assertEquals(new ArrayList<>(list), list.snapshot());
+        assertEquals(list, list.snapshot().toNumberList());
+    }
+
+    @Test
+    public void testModifiedCopies() {
+        Random random = new Random(3317);
+        List<Byte> expected = new ArrayList<>();
+        PersistentNumberList current = randomList(random, expected).snapshot();
+        PersistentNumberList original = current;
+        List<Byte> originalDigits = new ArrayList<>(expected);
+
+        for (int i = 0; i < 20000; i++) {
+            byte digit = (byte) random.nextInt(8);
+            int op = random.nextInt(3);
+            if (op == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                current = current.withDigit(index, digit);
+                expected.set(index, digit);
+            } else if (op == 1 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                current = current.withInserted(index, digit);
+                expected.add(index, digit);
+            } else {
+                int index = random.nextInt(expected.size());
+                current = current.withRemoved(index);
+                expected.remove(index);
+            }
+        }
+
+        assertEquals(expected, current);
+        assertEquals(expected, new ArrayList<>(current));
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i).intValue(), current.getDigit(i));
+        }
+        assertEquals(originalDigits, original);
+    }
+
+    @Test
+    public void testToNumberList() {
+        NumberListImpl list = new NumberListImpl("12345678901234567890");
+        PersistentNumberList snapshot = list.snapshot();
+
+        assertEquals(list, snapshot.toNumberList());
+        assertEquals(list.toString(), snapshot.toString());
+        assertEquals("12345678901234567890", snapshot.toDecimalString());
+
+        PersistentNumberList changed = snapshot.withDigit(0, (byte) 0);
+        assertNotEquals(snapshot, changed);
+        assertEquals(snapshot, list.snapshot());
+        List<Byte> copy = new ArrayList<>(snapshot);
+        assertEquals(copy.hashCode(), snapshot.hashCode());
+        assertEquals(copy, snapshot);
+        assertEquals(snapshot, copy);
+    }
+
+    @Test
+    public void testSnapshotKeepsItsRadix() {
+        NumberListImpl dec = new NumberListImpl(10);
+        dec.add((byte) 1);
+        dec.add((byte) 9);
+        NumberListImpl zero = new NumberListImpl();
+        zero.add((byte) 0);
+
+        // Decimal 19 is octal 23
+        assertEquals("23", NumberArithmetic.add(dec.snapshot(), zero).toString());
+        assertEquals("23", zero.additionalOperation(dec.snapshot()).toString());
+        assertEquals("19", dec.additionalOperation(dec.snapshot()).toString());
+        NumberListImpl hex = new NumberListImpl(16);
+        hex.add((byte) 1);
+        assertEquals("13", hex.additionalOperation(dec.snapshot()).toString());
+    }
+
+    @Test
+    public void testEqualsIsSymmetric() {
+        NumberListImpl oct = new NumberListImpl();
+        NumberListImpl dec = new NumberListImpl(10);
+        for (byte digit : new byte[] {1, 7}) {
+            oct.add(digit);
+            dec.add(digit);
+        }
+        NumberListImpl changed = new NumberListImpl();
+        changed.add((byte) 1);
+        changed.add((byte) 6);
+
+        List<Object> lists = new ArrayList<>();
+        for (NumberListImpl list : new NumberListImpl[] {oct, dec, changed, new NumberListImpl(), new NumberListImpl(10)}) {
+            lists.add(list);
+            lists.add(list.snapshot());
+            lists.add(new ConcurrentNumberList(list));
+        }
+        for (Object a : lists) {
+            for (Object b : lists) {
+                assertEquals(a + " and " + b, a.equals(b), b.equals(a));
+            }
+        }
+
+        assertEquals(oct, oct.snapshot());
+        assertEquals(oct, new ConcurrentNumberList(oct));
+        assertEquals(oct.snapshot(), new ConcurrentNumberList(oct));
+        assertNotEquals(oct, dec.snapshot());
+        assertNotEquals(oct.snapshot(), dec.snapshot());
+        assertNotEquals(oct.snapshot(), new ConcurrentNumberList(dec));
+        assertNotEquals(new NumberListImpl().snapshot(), new NumberListImpl(10).snapshot());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        new NumberListImpl("12345").snapshot().add((byte) 1);
+    }
+}
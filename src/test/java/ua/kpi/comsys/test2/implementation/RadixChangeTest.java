@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static ua.kpi.comsys.test2.implementation.ScaleOfNotationChangeTest.BINARY;
+import static ua.kpi.comsys.test2.implementation.ScaleOfNotationChangeTest.DECIMAL;
+import static ua.kpi.comsys.test2.implementation.ScaleOfNotationChangeTest.HEXADECIMAL;
+import static ua.kpi.comsys.test2.implementation.ScaleOfNotationChangeTest.OCTAL;
+import static ua.kpi.comsys.test2.implementation.ScaleOfNotationChangeTest.TERNARY;
+
+public class RadixChangeTest {
+
+    @Test
+    public void testChangeScaleToRadix() {
+        NumberListImpl list = new NumberListImpl(DECIMAL);
+        assertEquals("Invalid result of changeScale(2) ", BINARY, list.changeScale(2).toString());
+        assertEquals("Invalid result of changeScale(3) ", TERNARY, list.changeScale(3).toString());
+        assertEquals("Invalid result of changeScale(8) ", OCTAL, list.changeScale(8).toString());
+        assertEquals("Invalid result of changeScale(10) ", DECIMAL, list.changeScale(10).toString());
+        assertEquals("Invalid result of changeScale(16) ", HEXADECIMAL, list.changeScale(16).toString());
+
+        NumberListImpl actual = list.changeScale(16).changeScale(2).changeScale(3).changeScale(8);
+        assertEquals("Invalid result of chained changeScale() ", OCTAL, actual.toString());
+        assertEquals("Invalid result of toDecimalString() ", DECIMAL, list.changeScale(16).toDecimalString());
+    }
+
+    @Test
+    public void testChangeScaleBetweenPowersOfTwo() {
+        Random random = new Random(3317);
+        for (int i = 0; i < 50; i++) {
+            BigInteger value = new BigInteger(random.nextInt(5000) + 1, random);
+            NumberListImpl octal = new NumberListImpl(value.toString());
+            octal.add(0, (byte) 0);
+            for (int radix : new int[] {2, 4, 16, 32}) {
+                NumberListImpl actual = octal.changeScale(radix);
+                assertEquals("Invalid result of changeScale(" + radix + ")",
+                        value.toString(radix).toUpperCase(), actual.toString());
+                assertEquals("Invalid result of changeScale(8)",
+                        value.toString(8), actual.changeScale(8).toString());
+            }
+        }
+        assertEquals("0", new NumberListImpl().changeScale(16).toString());
+    }
+}
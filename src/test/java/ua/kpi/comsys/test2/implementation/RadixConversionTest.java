@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RadixConversionTest {
+    static int[] RADIXES = {2, 3, 8, 10, 16};
+
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(3317);
+        for (int i = 0; i < 50; i++) {
+            BigInteger value = new BigInteger(random.nextInt(40000) + 1, random);
+            for (int radix : RADIXES) {
+                String digits = RadixConversion.toString(value, radix);
+                assertEquals("Invalid result of toString()", value.toString(radix), digits);
+                assertEquals("Invalid result of parse()", value,
+                        RadixConversion.parse(digits, 0, digits.length(), radix));
+            }
+        }
+    }
+
+    @Test
+    public void testPowersOfTen() {
+        for (int exponent = 0; exponent < 3000; exponent += 37) {
+            BigInteger value = BigInteger.TEN.pow(exponent);
+            assertEquals(value.toString(), RadixConversion.toString(value, 10));
+            assertEquals(value.subtract(BigInteger.ONE).toString(),
+                    RadixConversion.toString(value.subtract(BigInteger.ONE), 10));
+        }
+    }
+
+    @Test
+    public void testLargeList() {
+        Random random = new Random(3317);
+        BigInteger value = new BigInteger(200000, random);
+        NumberListImpl list = new NumberListImpl(value.toString());
+
+        assertEquals("Invalid result of toDecimalString()", value.toString(), list.toDecimalString());
+        assertEquals("Invalid result of changeScale()", value.toString(), list.changeScale().toString());
+    }
+
+    @Test
+    public void testDecimalStringFormats() {
+        assertEquals("14", new NumberListImpl(" 12 ").toString());
+        assertEquals("5", new NumberListImpl("+5").toString());
+        assertEquals("7", new NumberListImpl("007").toString());
+        assertEquals("0", new NumberListImpl("-000").toString());
+        assertEquals("", new NumberListImpl("-5").toString());
+        assertEquals("", new NumberListImpl("1 2").toString());
+        assertEquals("", new NumberListImpl("+").toString());
+    }
+
+    @Test
+    public void testParallelToString() {
+        Random random = new Random(3317);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int bits : new int[] {RadixConversion.PARALLEL_BITS - 1, 2 * RadixConversion.PARALLEL_BITS}) {
+                BigInteger value = new BigInteger(bits, random).setBit(bits - 1);
+                for (int radix : new int[] {3, 10}) {
+                    assertEquals("Invalid result of parallel toString()", RadixConversion.toString(value, radix),
+                            RadixConversion.toString(value, radix, pool));
+                }
+            }
+            BigInteger power = BigInteger.TEN.pow(100000);
+            assertEquals(RadixConversion.toString(power, 10), RadixConversion.toString(power, 10, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDecimalStringCache() throws IOException {
+        Random random = new Random(3317);
+        BigInteger value = new BigInteger(20000, random);
+        NumberListImpl list = new NumberListImpl(value.toString());
+
+        String decimal = list.toDecimalString();
+        assertEquals(value.toString(), decimal);
+        assertSame("Decimal string was not cached", decimal, list.toDecimalString());
+        assertEquals(value.toString(), list.changeScale().toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        list.saveList(out);
+        assertEquals(value.toString(), out.toString("US-ASCII"));
+
+        list.set(0, (byte) 0);
+        value = new BigInteger(list.toString(), 8);
+        assertEquals("Cache was not invalidated by set()", value.toString(), list.toDecimalString());
+        list.shiftLeft(123);
+        value = new BigInteger(list.toString(), 8);
+        assertEquals("Cache was not invalidated by shiftLeft()", value.toString(), list.toDecimalString());
+        list.sortDescending();
+        value = new BigInteger(list.toString(), 8);
+        assertEquals("Cache was not invalidated by sortDescending()", value.toString(), list.toDecimalString());
+        list.swap(0, list.size() - 1);
+        value = new BigInteger(list.toString(), 8);
+        out.reset();
+        list.saveList(out);
+        assertEquals("Cache was not invalidated by swap()", value.toString(), out.toString("US-ASCII"));
+        list.clear();
+        assertEquals("Cache was not invalidated by clear()", "0", list.toDecimalString());
+    }
+}